@@ -0,0 +1,15 @@
+package ir.lazydeveloper.jpodcatcher;
+
+import ir.lazydeveloper.jpodcatcher.model.Item;
+
+/**
+ * Called for every item of a loaded feed.
+ * <p>
+ * {@code loadRSS} calls it only once the whole feed is parsed and valid, so a feed which fails delivers nothing.
+ * {@code loadRSSLeniently} calls it as soon as each closing item tag is parsed, so items may come from feeds
+ * which turn out incomplete. Feeds loaded again deliver their items again; listeners should handle repeats.
+ */
+@FunctionalInterface
+public interface ItemListener {
+    void itemParsed(String feedUri, Item item);
+}
@@ -0,0 +1,13 @@
+package ir.lazydeveloper.jpodcatcher;
+
+/**
+ * Where and why a feed could not be parsed completely.
+ *
+ * @param byteOffset  offset in the raw feed, -1 when unknown or when the parser had read too far past the line;
+ *                    exact for ASCII lines and an estimate otherwise
+ * @param line        1-based, -1 when unknown
+ * @param column      1-based in the raw feed (before any tolerant scanning repairs), -1 when unknown
+ * @param elementPath open elements at the time of the problem, like {@code rss/channel/item/description}
+ */
+public record ParseDiagnostic(String message, long byteOffset, int line, int column, String elementPath) {
+}
@@ -0,0 +1,16 @@
+package ir.lazydeveloper.jpodcatcher;
+
+import ir.lazydeveloper.jpodcatcher.model.Channel;
+
+import java.util.List;
+
+/**
+ * A channel together with whatever went wrong while reading it. When diagnostics are present the channel
+ * only holds the items completed before the first fatal problem.
+ */
+public record PodcastReadResult(Channel channel, List<ParseDiagnostic> diagnostics) {
+
+    public boolean complete() {
+        return diagnostics.isEmpty();
+    }
+}
@@ -2,6 +2,26 @@ package ir.lazydeveloper.jpodcatcher;
 
 import ir.lazydeveloper.jpodcatcher.model.Channel;
 
+import java.util.List;
+
 public interface PodcastReader {
     Channel loadRSS(String uri) throws PodcastReaderException;
+
+    /**
+     * Unlike {@link #loadRSS(String)}, a malformed or truncated feed does not fail the call: the channel and
+     * items parsed before the problem are returned with diagnostics describing it.
+     *
+     * The default implementation cannot recover partial results: it delegates to {@link #loadRSS(String)} and
+     * reports a failure as a single diagnostic with an empty channel.
+     *
+     * @throws PodcastReaderException only when the feed cannot be opened at all
+     */
+    default PodcastReadResult loadRSSLeniently(String uri) throws PodcastReaderException {
+        try {
+            return new PodcastReadResult(loadRSS(uri), List.of());
+        } catch (PodcastReaderException e) {
+            return new PodcastReadResult(new Channel.Builder().build(),
+                    List.of(new ParseDiagnostic(e.getMessage(), -1, -1, -1, "")));
+        }
+    }
 }
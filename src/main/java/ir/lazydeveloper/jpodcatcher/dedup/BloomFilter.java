@@ -0,0 +1,63 @@
+package ir.lazydeveloper.jpodcatcher.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free Bloom filter over 64-bit keys which are already well mixed hashes.
+ * <p>
+ * Probes are {@code h1 + i * h2} in 64-bit arithmetic (Kirsch-Mitzenmacher double hashing), so they reach every
+ * bit of filters larger than 2^31 bits. {@code h2} is a remix of the key forced odd, so it is never zero and the
+ * probes of one key never collapse onto a single bit.
+ */
+class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected a positive size and a false positive rate between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    boolean mightContain(long key) {
+        long h2 = secondHash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(key + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(long key) {
+        long h2 = secondHash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(key + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    private static long secondHash(long key) {
+        long h = Long.rotateLeft(key, 32) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 29;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 32;
+        return h | 1;
+    }
+
+    private long index(long combinedHash) {
+        return Long.remainderUnsigned(combinedHash, bitCount);
+    }
+}
@@ -0,0 +1,11 @@
+package ir.lazydeveloper.jpodcatcher.dedup;
+
+import ir.lazydeveloper.jpodcatcher.model.Item;
+
+/**
+ * An item whose episode was already registered by another feed.
+ *
+ * @param originalFeedUri the feed which registered the episode first
+ */
+public record Duplicate(String feedUri, Item item, String originalFeedUri, EpisodeFingerprint fingerprint) {
+}
@@ -0,0 +1,149 @@
+package ir.lazydeveloper.jpodcatcher.dedup;
+
+import ir.lazydeveloper.jpodcatcher.model.Item;
+import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Two 64-bit keys identifying an episode independently of the feed it came from.
+ *
+ * @param enclosureKey hash of the normalized enclosure url and its length, {@link #NONE} without an enclosure url
+ * @param contentKey   hash of the normalized title and the duration, {@link #NONE} without a title or a positive
+ *                     duration, since a title alone (like "Trailer") is shared by unrelated shows
+ */
+public record EpisodeFingerprint(long enclosureKey, long contentKey) {
+
+    public static final long NONE = 0;
+
+    /**
+     * Analytics services put their own host and path in front of the real media url,
+     * e.g. {@code dts.podtrac.com/redirect.mp3/media.example.com/episode.mp3}.
+     */
+    private static final Pattern MEASUREMENT_PREFIX = Pattern.compile(
+            "^(?:(?:www\\.|dts\\.)?podtrac\\.com/(?:pts/)?redirect\\.[a-z0-9]+/"
+                    + "|(?:chtbl\\.com|chrt\\.fm)/track/[^/]+/"
+                    + "|pdst\\.fm/e/"
+                    + "|op3\\.dev/e/"
+                    + "|(?:[a-z0-9-]+\\.)?podscribe\\.com/rss/p/"
+                    + "|pfx\\.vpixl\\.com/[^/]+/)");
+
+    public static EpisodeFingerprint of(Item item) {
+        long enclosureKey = NONE;
+        var enclosure = item.enclosure();
+        if (enclosure != null && enclosure.url() != null && !enclosure.url().isBlank()) {
+            long length = enclosure.length() == null ? -1 : enclosure.length();
+            enclosureKey = nonZero(mix(hash(normalizeEnclosureUrl(enclosure.url())) ^ mix(length)));
+        }
+        long contentKey = NONE;
+        var itunes = item.itunesItemData();
+        int duration = itunes == null ? ItunesItemData.NO_DURATION : itunes.durationSeconds();
+        var title = normalizeTitle(item.title());
+        if (!title.isEmpty() && duration > 0) {
+            contentKey = nonZero(mix(hash(title) ^ mix(duration)));
+        }
+        return new EpisodeFingerprint(enclosureKey, contentKey);
+    }
+
+    /**
+     * Drops the scheme, {@code www.}, default ports, fragments, {@code utm_} parameters and measurement prefixes,
+     * and lower-cases the host, so the same file reached through different feeds gives the same string.
+     */
+    public static String normalizeEnclosureUrl(String url) {
+        var normalized = url.trim();
+        try {
+            var uri = new URI(normalized);
+            if (uri.getHost() != null) {
+                var host = uri.getHost().toLowerCase(Locale.ROOT);
+                if (host.startsWith("www.")) {
+                    host = host.substring(4);
+                }
+                int port = uri.getPort();
+                boolean defaultPort = port == -1 || port == 80 || port == 443;
+                var path = uri.getRawPath() == null ? "" : uri.getRawPath();
+                normalized = host + (defaultPort ? "" : ":" + port) + path + normalizeQuery(uri.getRawQuery());
+            }
+        } catch (URISyntaxException e) {
+            // Not a valid uri, compare it as it is
+        }
+        var matcher = MEASUREMENT_PREFIX.matcher(normalized);
+        while (matcher.find()) {
+            normalized = normalized.substring(matcher.end());
+            if (normalized.startsWith("http://") || normalized.startsWith("https://")) {
+                return normalizeEnclosureUrl(normalized);
+            }
+            var slash = normalized.indexOf('/');
+            var host = slash < 0 ? normalized : normalized.substring(0, slash);
+            normalized = host.toLowerCase(Locale.ROOT).replaceFirst("^www\\.", "") + (slash < 0 ? "" : normalized.substring(slash));
+            matcher = MEASUREMENT_PREFIX.matcher(normalized);
+        }
+        return normalized;
+    }
+
+    private static String normalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        var query = new StringBuilder();
+        for (String parameter : rawQuery.split("&")) {
+            if (!parameter.isEmpty() && !parameter.toLowerCase(Locale.ROOT).startsWith("utm_")) {
+                query.append(query.length() == 0 ? '?' : '&').append(parameter);
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Lower-cased letters and digits, with every other run of characters collapsed to one space.
+     */
+    static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        var normalized = new StringBuilder(title.length());
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == ' ') {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 64-bit FNV-1a; {@link String#hashCode()} collides far too often at catalog scale.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Final mixing step of MurmurHash3, spreading every input bit over the whole key.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static long nonZero(long key) {
+        return key == NONE ? 1 : key;
+    }
+}
@@ -0,0 +1,115 @@
+package ir.lazydeveloper.jpodcatcher.dedup;
+
+import ir.lazydeveloper.jpodcatcher.ItemListener;
+import ir.lazydeveloper.jpodcatcher.model.Item;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Flags items already seen in another feed, by their {@link EpisodeFingerprint}.
+ * <p>
+ * A Bloom filter answers for keys never seen before without touching the exact maps. The exact maps remember
+ * which feed registered each key; they are bounded by keeping two generations and dropping the older one once
+ * the newer is half full, so only the most recently registered keys are remembered exactly. Size the filter for
+ * the total number of keys expected: once it fills up it still answers correctly, just more slowly.
+ * <p>
+ * Safe to share between readers parsing on different threads; register it with
+ * {@code PodcastReaderSaxParserImpl#addItemListener} to check items at ingest time.
+ */
+public class FingerprintIndex implements ItemListener {
+
+    private final BloomFilter bloomFilter;
+    private final int maxExactKeys;
+    private final Consumer<Duplicate> duplicateListener;
+    private final LongAdder duplicates = new LongAdder();
+    private volatile Map<Long, String> current = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> previous = new ConcurrentHashMap<>();
+
+    public FingerprintIndex(int maxExactKeys) {
+        this(maxExactKeys, maxExactKeys, 0.01, duplicate -> {
+        });
+    }
+
+    /**
+     * @param maxExactKeys      upper bound of keys remembered with their feed, each item registers up to two keys
+     * @param expectedKeys      keys the Bloom filter is sized for
+     * @param duplicateListener called for every duplicate found by {@link #itemParsed(String, Item)}
+     */
+    public FingerprintIndex(int maxExactKeys, long expectedKeys, double falsePositiveRate,
+                            Consumer<Duplicate> duplicateListener) {
+        if (maxExactKeys < 2) {
+            throw new IllegalArgumentException("maxExactKeys must be at least 2");
+        }
+        this.bloomFilter = new BloomFilter(expectedKeys, falsePositiveRate);
+        this.maxExactKeys = maxExactKeys;
+        this.duplicateListener = duplicateListener;
+    }
+
+    @Override
+    public void itemParsed(String feedUri, Item item) {
+        register(feedUri, item).ifPresent(duplicateListener);
+    }
+
+    /**
+     * Registers the item for its feed. Seeing an item again from the feed which registered it first is not a
+     * duplicate, so feeds can be reloaded.
+     */
+    public Optional<Duplicate> register(String feedUri, Item item) {
+        var fingerprint = EpisodeFingerprint.of(item);
+        String original = null;
+        for (long key : new long[]{fingerprint.enclosureKey(), fingerprint.contentKey()}) {
+            if (key == EpisodeFingerprint.NONE) {
+                continue;
+            }
+            var firstFeed = registerKey(key, feedUri);
+            if (original == null && firstFeed != null && !firstFeed.equals(feedUri)) {
+                original = firstFeed;
+            }
+        }
+        if (original == null) {
+            return Optional.empty();
+        }
+        duplicates.increment();
+        return Optional.of(new Duplicate(feedUri, item, original, fingerprint));
+    }
+
+    public long duplicates() {
+        return duplicates.sum();
+    }
+
+    /**
+     * @return the feed which registered the key before, null if this call registered it
+     */
+    private String registerKey(long key, String feedUri) {
+        var generation = current;
+        String firstFeed;
+        if (!bloomFilter.mightContain(key)) {
+            bloomFilter.put(key);
+            firstFeed = generation.putIfAbsent(key, feedUri);
+        } else {
+            firstFeed = generation.get(key);
+            if (firstFeed == null) {
+                var older = previous.get(key);
+                firstFeed = generation.putIfAbsent(key, older == null ? feedUri : older);
+                if (firstFeed == null) {
+                    firstFeed = older;
+                }
+            }
+        }
+        if (generation.size() >= maxExactKeys / 2) {
+            rotate(generation);
+        }
+        return firstFeed;
+    }
+
+    private synchronized void rotate(Map<Long, String> full) {
+        if (current == full) {
+            previous = full;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package ir.lazydeveloper.jpodcatcher.index;
+
+import ir.lazydeveloper.jpodcatcher.ItemListener;
+import ir.lazydeveloper.jpodcatcher.model.Channel;
+import ir.lazydeveloper.jpodcatcher.model.Item;
+import ir.lazydeveloper.jpodcatcher.model.RssDates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over item titles, descriptions, categories and itunes titles.
+ * <p>
+ * Register it with {@code PodcastReaderSaxParserImpl#addItemListener} to index items while feeds are parsed.
+ * Items are identified by their feed and guid (the enclosure url without a guid), so polling a feed again
+ * replaces its episodes instead of indexing them twice.
+ * Searches may run concurrently with each other; an addition briefly holds a write lock, so it waits for running
+ * searches and holds off new ones while the item is inserted. Results are ordered by pubDate, newest first.
+ */
+public class EpisodeIndex implements ItemListener {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, IntList> postings = new TreeMap<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    /**
+     * Indexed by document id. Ids of replaced items go to {@link #freeDocIds} and are reused, so the arrays only
+     * grow with the number of live items.
+     */
+    private Item[] items = new Item[16];
+    private long[] pubDates = new long[16];
+    private final IntList freeDocIds = new IntList();
+    private int docCount;
+    private int size;
+
+    @Override
+    public void itemParsed(String feedUri, Item item) {
+        add(feedUri, item);
+    }
+
+    /**
+     * Items are keyed by the channel's link, or its title when it has no link.
+     */
+    public void add(Channel channel) {
+        var feed = channel.link() == null || channel.link().isBlank() ? channel.title() : channel.link();
+        channel.items().forEach(item -> add(feed, item));
+    }
+
+    /**
+     * Adds an item which belongs to no known feed; it is never replaced, so adding it again indexes it twice.
+     */
+    public void add(Item item) {
+        add(null, item);
+    }
+
+    /**
+     * Adds the item, or replaces the one added before with the same key. An unchanged item is skipped,
+     * so re-polling a feed does not grow the index.
+     */
+    public void add(String feedUri, Item item) {
+        var key = documentKey(feedUri, item);
+        var terms = terms(item);
+        long pubDate = RssDates.toEpochMillis(item.pubDate());
+
+        lock.writeLock().lock();
+        try {
+            var previous = key == null ? null : docIdsByKey.get(key);
+            if (previous != null) {
+                if (items[previous].equals(item)) {
+                    return;
+                }
+                remove(previous);
+            }
+            int docId;
+            if (freeDocIds.size() > 0) {
+                docId = freeDocIds.pop();
+            } else {
+                if (docCount == items.length) {
+                    items = Arrays.copyOf(items, docCount * 2);
+                    pubDates = Arrays.copyOf(pubDates, docCount * 2);
+                }
+                docId = docCount++;
+            }
+            items[docId] = item;
+            pubDates[docId] = pubDate;
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new IntList()).addIfAbsent(docId);
+            }
+            if (key != null) {
+                docIdsByKey.put(key, docId);
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Only called while the write lock is held.
+     */
+    private void remove(int docId) {
+        for (String term : terms(items[docId])) {
+            var list = postings.get(term);
+            if (list != null) {
+                list.remove(docId);
+                if (list.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        items[docId] = null;
+        freeDocIds.addIfAbsent(docId);
+        size--;
+    }
+
+    private static Set<String> terms(Item item) {
+        Set<String> terms = new HashSet<>();
+        Tokenizer.tokenize(item.title(), terms);
+        Tokenizer.tokenize(item.description(), terms);
+        item.categories().forEach(category -> Tokenizer.tokenize(category, terms));
+        if (item.itunesItemData() != null) {
+            Tokenizer.tokenize(item.itunesItemData().title(), terms);
+        }
+        return terms;
+    }
+
+    /**
+     * @return null for items without a feed, guid or enclosure url, which are always added
+     */
+    private static String documentKey(String feedUri, Item item) {
+        if (feedUri == null) {
+            return null;
+        }
+        String id = item.guid();
+        if (id == null || id.isBlank()) {
+            id = item.enclosure() == null ? null : item.enclosure().url();
+        }
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        return feedUri + '\n' + id;
+    }
+
+    /**
+     * Items containing every term of the query, newest first.
+     */
+    public List<Item> search(String query, int limit) {
+        List<String> terms = new ArrayList<>();
+        Tokenizer.tokenize(query, terms);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                var list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+            var topK = new TopK(limit);
+            var shortest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            for (int i = 0; i < shortest.size(); i++) {
+                int docId = shortest.get(i);
+                if (containedInAll(docId, lists, cursors)) {
+                    topK.offer(docId);
+                }
+            }
+            return topK.toItems();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Items containing any term starting with the given prefix, newest first.
+     */
+    public List<Item> searchPrefix(String prefix, int limit) {
+        List<String> terms = new ArrayList<>(1);
+        Tokenizer.tokenize(prefix, terms);
+        if (terms.size() != 1 || limit <= 0) {
+            return List.of();
+        }
+        var from = terms.get(0);
+        lock.readLock().lock();
+        try {
+            var matches = new BitSet(docCount);
+            Collection<IntList> lists = postings.subMap(from, true, from + Character.MAX_VALUE, false).values();
+            for (IntList list : lists) {
+                for (int i = 0; i < list.size(); i++) {
+                    matches.set(list.get(i));
+                }
+            }
+            var topK = new TopK(limit);
+            for (int docId = matches.nextSetBit(0); docId >= 0; docId = matches.nextSetBit(docId + 1)) {
+                topK.offer(docId);
+            }
+            return topK.toItems();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists are ascending, so each cursor only moves forward while the shortest list is walked.
+     */
+    private static boolean containedInAll(int docId, List<IntList> lists, int[] cursors) {
+        for (int l = 1; l < lists.size(); l++) {
+            var list = lists.get(l);
+            int cursor = cursors[l];
+            while (cursor < list.size() && list.get(cursor) < docId) {
+                cursor++;
+            }
+            cursors[l] = cursor;
+            if (cursor == list.size() || list.get(cursor) != docId) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bounded min-heap of document ids ordered by pubDate, higher ids winning ties.
+     * Only used while the read lock is held.
+     */
+    private class TopK {
+        private final int[] heap;
+        private int count;
+
+        TopK(int limit) {
+            this.heap = new int[Math.min(limit, Math.max(size, 1))];
+        }
+
+        void offer(int docId) {
+            if (count < heap.length) {
+                heap[count] = docId;
+                siftUp(count++);
+            } else if (isNewer(docId, heap[0])) {
+                heap[0] = docId;
+                siftDown(0);
+            }
+        }
+
+        List<Item> toItems() {
+            var result = new Item[count];
+            for (int i = count - 1; i >= 0; i--) {
+                result[i] = items[heap[0]];
+                heap[0] = heap[i];
+                count = i;
+                siftDown(0);
+            }
+            return List.of(result);
+        }
+
+        private boolean isNewer(int a, int b) {
+            return pubDates[a] > pubDates[b] || (pubDates[a] == pubDates[b] && a > b);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!isNewer(heap[parent], heap[index])) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int oldest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < count && isNewer(heap[oldest], heap[left])) {
+                    oldest = left;
+                }
+                if (right < count && isNewer(heap[oldest], heap[right])) {
+                    oldest = right;
+                }
+                if (oldest == index) {
+                    return;
+                }
+                swap(index, oldest);
+                index = oldest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
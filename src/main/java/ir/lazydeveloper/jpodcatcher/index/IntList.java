@@ -0,0 +1,58 @@
+package ir.lazydeveloper.jpodcatcher.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable posting list of ascending document ids, kept as a plain int array.
+ */
+class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    /**
+     * Keeps the ids ascending. New ids usually come last, so that case is a plain append; ids reused after a
+     * removal are inserted in place.
+     */
+    void addIfAbsent(int value) {
+        int index = size;
+        if (size > 0 && values[size - 1] >= value) {
+            index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the last value, as a stack.
+     */
+    int pop() {
+        return values[--size];
+    }
+
+    /**
+     * Removes the value if present, keeping the remaining ids in order.
+     */
+    void remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,52 @@
+package ir.lazydeveloper.jpodcatcher.index;
+
+import java.util.Collection;
+
+/**
+ * Splits text into lower-case runs of letters and digits, skipping HTML tags since descriptions are usually HTML.
+ * A {@code <} only starts a tag when followed by a letter, {@code /} or {@code !}; SAX already decoded
+ * {@code &lt;}, so plain text like {@code 3 < 5} reaches here with a bare {@code <}.
+ */
+final class Tokenizer {
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    static void tokenize(String text, Collection<String> tokens) {
+        if (text == null) {
+            return;
+        }
+        var token = new StringBuilder();
+        boolean inTag = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inTag) {
+                inTag = c != '>';
+            } else if (Character.isLetterOrDigit(c)) {
+                if (token.length() < MAX_TOKEN_LENGTH) {
+                    token.append(Character.toLowerCase(c));
+                }
+            } else {
+                flush(token, tokens);
+                inTag = c == '<' && startsTag(text, i + 1);
+            }
+        }
+        flush(token, tokens);
+    }
+
+    private static boolean startsTag(String text, int index) {
+        if (index >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(index);
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '/' || c == '!';
+    }
+
+    private static void flush(StringBuilder token, Collection<String> tokens) {
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+            token.setLength(0);
+        }
+    }
+}
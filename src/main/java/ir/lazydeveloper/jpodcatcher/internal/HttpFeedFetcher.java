@@ -0,0 +1,399 @@
+package ir.lazydeveloper.jpodcatcher.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens http(s) feeds through a shared {@link HttpClient}, so connections (and HTTP/2 streams) are reused per host.
+ * Permanent redirects are remembered, each host gets its own connection and rate limits, and the body is
+ * handed out as a stream which is never buffered as a whole. A body which stops arriving for longer than the
+ * idle timeout is closed, so a stalled server cannot hold a connection permit forever.
+ */
+public class HttpFeedFetcher {
+
+    private static final int MAX_REDIRECTS = 5;
+    /**
+     * Only the most recently used permanent redirects are remembered.
+     */
+    private static final int MAX_PERMANENT_REDIRECTS = 10_000;
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final long bodyIdleTimeoutNanos;
+    private final int maxConnectionsPerHost;
+    private final double defaultRequestsPerSecond;
+    private final Map<String, Double> requestsPerSecondByHost;
+    private final Map<String, HostLimiter> hostLimiters = new ConcurrentHashMap<>();
+    private final Map<URI, URI> permanentRedirects = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URI, URI> eldest) {
+                    return size() > MAX_PERMANENT_REDIRECTS;
+                }
+            });
+
+    private HttpFeedFetcher(Builder builder) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(builder.connectTimeout)
+                .build();
+        this.requestTimeout = builder.requestTimeout;
+        this.bodyIdleTimeoutNanos = builder.bodyIdleTimeout.toNanos();
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+        this.defaultRequestsPerSecond = builder.defaultRequestsPerSecond;
+        this.requestsPerSecondByHost = Map.copyOf(builder.requestsPerSecondByHost);
+    }
+
+    public static boolean supports(String uri) {
+        var lowerCase = uri.toLowerCase(Locale.ROOT);
+        return lowerCase.startsWith("http://") || lowerCase.startsWith("https://");
+    }
+
+    /**
+     * The returned stream holds one of the host's connection permits until it is closed.
+     */
+    public InputStream open(URI uri) throws IOException {
+        checkTarget(uri);
+        var target = resolvePermanentRedirects(uri);
+        for (int redirects = 0; ; redirects++) {
+            var host = target.getHost() == null ? "" : target.getHost().toLowerCase(Locale.ROOT);
+            var limiter = hostLimiters.computeIfAbsent(hostKey(target), key -> newHostLimiter(host));
+            limiter.acquire();
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(newRequest(target), HttpResponse.BodyHandlers.ofInputStream());
+            } catch (IllegalArgumentException e) {
+                limiter.release();
+                throw new IOException("Cannot request " + target, e);
+            } catch (InterruptedException e) {
+                limiter.release();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while fetching " + target);
+            } catch (IOException | RuntimeException e) {
+                limiter.release();
+                throw e;
+            }
+
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                try {
+                    return new PermitReleasingInputStream(decode(response), limiter, target, bodyIdleTimeoutNanos);
+                } catch (IOException e) {
+                    limiter.release();
+                    throw e;
+                }
+            }
+            try {
+                response.body().close();
+            } finally {
+                limiter.release();
+            }
+            if (!isRedirect(status)) {
+                throw new IOException(String.format("Unexpected HTTP status %d for %s", status, target));
+            }
+            if (redirects >= MAX_REDIRECTS) {
+                throw new IOException("Too many redirects for " + uri);
+            }
+            var from = target;
+            var location = response.headers().firstValue("Location")
+                    .orElseThrow(() -> new IOException(String.format("HTTP %d without Location for %s", status, from)));
+            target = resolveLocation(from, location);
+            if (status == 301 || status == 308) {
+                permanentRedirects.put(from, target);
+            }
+        }
+    }
+
+    /**
+     * Resolves a redirect's Location against the url it came from. Unencoded spaces, which some servers send,
+     * are encoded first; anything else {@link URI} or {@link HttpClient} cannot take fails as an {@link IOException}.
+     */
+    static URI resolveLocation(URI from, String location) throws IOException {
+        URI target;
+        try {
+            target = from.resolve(location.trim().replace(" ", "%20"));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(String.format("Invalid redirect Location '%s' from %s", location, from), e);
+        }
+        checkTarget(target);
+        return target;
+    }
+
+    private static void checkTarget(URI uri) throws IOException {
+        if (uri.getScheme() == null || !supports(uri.getScheme() + "://")) {
+            throw new IOException("Only http and https feeds can be fetched, not " + uri);
+        }
+        if (uri.getHost() == null || uri.getHost().isEmpty()) {
+            throw new IOException("No host in " + uri);
+        }
+    }
+
+    /**
+     * Host and effective port, so {@code https://h/} and {@code https://h:443/} share one limiter.
+     */
+    static String hostKey(URI uri) {
+        var host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return host + ":" + port;
+    }
+
+    private URI resolvePermanentRedirects(URI uri) {
+        var target = uri;
+        for (int i = 0; i < MAX_REDIRECTS; i++) {
+            var next = permanentRedirects.get(target);
+            if (next == null) {
+                break;
+            }
+            target = next;
+        }
+        return target;
+    }
+
+    private HttpRequest newRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        var encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if (encoding.equalsIgnoreCase("gzip")) {
+            try {
+                return new GZIPInputStream(response.body());
+            } catch (IOException e) {
+                response.body().close();
+                throw e;
+            }
+        }
+        return response.body();
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    private HostLimiter newHostLimiter(String host) {
+        double requestsPerSecond = requestsPerSecondByHost.getOrDefault(host, defaultRequestsPerSecond);
+        return new HostLimiter(maxConnectionsPerHost, requestsPerSecond);
+    }
+
+    private static class HostLimiter {
+        private final Semaphore connections;
+        private final long intervalNanos;
+        private long nextRequestNanos = System.nanoTime();
+
+        HostLimiter(int maxConnections, double requestsPerSecond) {
+            this.connections = new Semaphore(maxConnections, true);
+            this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        }
+
+        void acquire() throws InterruptedIOException {
+            try {
+                connections.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection");
+            }
+            if (intervalNanos == 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextRequestNanos);
+                nextRequestNanos = slot + intervalNanos;
+                waitNanos = slot - now;
+            }
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    connections.release();
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the host rate limit");
+                }
+            }
+        }
+
+        void release() {
+            connections.release();
+        }
+    }
+
+    /**
+     * Daemon thread closing bodies which went idle, shared by every fetcher.
+     */
+    private static class WatchdogHolder {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "feed-body-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class PermitReleasingInputStream extends FilterInputStream {
+        private final HostLimiter limiter;
+        private final URI uri;
+        private final long idleTimeoutNanos;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastActivityNanos = System.nanoTime();
+        private volatile boolean timedOut;
+        private volatile ScheduledFuture<?> watchdog;
+
+        PermitReleasingInputStream(InputStream in, HostLimiter limiter, URI uri, long idleTimeoutNanos) {
+            super(in);
+            this.limiter = limiter;
+            this.uri = uri;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+            if (idleTimeoutNanos > 0) {
+                scheduleWatchdog(idleTimeoutNanos);
+            }
+        }
+
+        private void scheduleWatchdog(long delayNanos) {
+            watchdog = WatchdogHolder.INSTANCE.schedule(this::checkIdle, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Closing the body wakes up a read blocked on it, which then fails with a timeout.
+         */
+        private void checkIdle() {
+            if (closed.get()) {
+                return;
+            }
+            long idleNanos = System.nanoTime() - lastActivityNanos;
+            if (idleNanos < idleTimeoutNanos) {
+                scheduleWatchdog(idleTimeoutNanos - idleNanos);
+                return;
+            }
+            timedOut = true;
+            try {
+                close();
+            } catch (IOException e) {
+                // The permit is released anyway, nothing else to do on the watchdog thread
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            afterRead();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n;
+            try {
+                n = super.read(buffer, offset, length);
+            } catch (IOException e) {
+                afterRead();
+                throw e;
+            }
+            afterRead();
+            return n;
+        }
+
+        private void afterRead() throws HttpTimeoutException {
+            if (timedOut) {
+                throw new HttpTimeoutException("Body of " + uri + " stalled for more than "
+                        + TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) + "ms");
+            }
+            lastActivityNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                var scheduled = watchdog;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                try {
+                    super.close();
+                } finally {
+                    limiter.release();
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private Duration bodyIdleTimeout = Duration.ofSeconds(30);
+        private int maxConnectionsPerHost = 8;
+        private double defaultRequestsPerSecond;
+        private final Map<String, Double> requestsPerSecondByHost = new ConcurrentHashMap<>();
+
+        public Builder setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Longest wait for the next bytes of a body once the headers arrived; zero disables the check.
+         * The request timeout only covers the headers.
+         */
+        public Builder setBodyIdleTimeout(Duration bodyIdleTimeout) {
+            this.bodyIdleTimeout = bodyIdleTimeout;
+            return this;
+        }
+
+        public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost < 1) {
+                throw new IllegalArgumentException("maxConnectionsPerHost must be positive");
+            }
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Zero (the default) means no rate limit.
+         */
+        public Builder setDefaultRequestsPerSecond(double requestsPerSecond) {
+            this.defaultRequestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        public Builder setRequestsPerSecond(String host, double requestsPerSecond) {
+            requestsPerSecondByHost.put(host.toLowerCase(Locale.ROOT), requestsPerSecond);
+            return this;
+        }
+
+        public HttpFeedFetcher build() {
+            return new HttpFeedFetcher(this);
+        }
+    }
+}
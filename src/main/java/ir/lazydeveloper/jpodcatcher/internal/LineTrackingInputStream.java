@@ -0,0 +1,81 @@
+package ir.lazydeveloper.jpodcatcher.internal;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read and remembers where the most recent lines start, so a parser's line and column can be
+ * turned back into a byte offset in the raw feed.
+ */
+class LineTrackingInputStream extends FilterInputStream {
+    /**
+     * The parser only reads a buffer ahead, so the line it fails on is always among the last few read.
+     */
+    private static final int TRACKED_LINES = 1024;
+
+    private final long[] lineStarts = new long[TRACKED_LINES];
+    private long count;
+    private int line = 1;
+    private boolean lastWasCarriageReturn;
+
+    LineTrackingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            track((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        for (int i = 0; i < read; i++) {
+            track(buffer[offset + i]);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && read() >= 0) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void track(byte b) {
+        count++;
+        if (b == '\n' && lastWasCarriageReturn) {
+            lineStarts[line % TRACKED_LINES] = count;
+        } else if (b == '\n' || b == '\r') {
+            line++;
+            lineStarts[line % TRACKED_LINES] = count;
+        }
+        lastWasCarriageReturn = b == '\r';
+    }
+
+    /**
+     * Columns count characters, so the result is only exact when the line is ASCII up to that column.
+     *
+     * @return -1 when the line is not tracked anymore
+     */
+    long offsetOf(int line, int column) {
+        if (line < 1 || column < 1 || line > this.line || line <= this.line - TRACKED_LINES) {
+            return -1;
+        }
+        long lineStart = line == 1 ? 0 : lineStarts[line % TRACKED_LINES];
+        return Math.min(lineStart + column - 1, count);
+    }
+}
@@ -1,6 +1,9 @@
 package ir.lazydeveloper.jpodcatcher.internal;
 
 
+import ir.lazydeveloper.jpodcatcher.ItemListener;
+import ir.lazydeveloper.jpodcatcher.ParseDiagnostic;
+import ir.lazydeveloper.jpodcatcher.PodcastReadResult;
 import ir.lazydeveloper.jpodcatcher.PodcastReader;
 import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
 import ir.lazydeveloper.jpodcatcher.model.Channel;
@@ -9,66 +12,311 @@ import ir.lazydeveloper.jpodcatcher.model.Image;
 import ir.lazydeveloper.jpodcatcher.model.Item;
 import ir.lazydeveloper.jpodcatcher.model.itunes.*;
 import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.function.Supplier;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Not thread safe: the SAX parser and the handler state are reused by every {@link #loadRSS(String)} call,
+ * so use one instance per thread.
+ */
 public class PodcastReaderSaxParserImpl implements PodcastReader {
 
     private static final Logger LOG = Logger.getLogger(PodcastReaderSaxParserImpl.class.getName());
     private final SAXParser saxParser;
+    private final HttpFeedFetcher feedFetcher;
+    private final List<ItemListener> itemListeners = new CopyOnWriteArrayList<>();
+    private final RSSHandler handler = new RSSHandler(itemListeners);
+    private volatile boolean retainItems = true;
+    private volatile boolean tolerantScanning;
 
     public PodcastReaderSaxParserImpl() {
+        this(DefaultFeedFetcherHolder.INSTANCE);
+    }
+
+    public PodcastReaderSaxParserImpl(HttpFeedFetcher feedFetcher) {
         var factory = SAXParserFactory.newInstance();
         try {
             this.saxParser = factory.newSAXParser();
         } catch (ParserConfigurationException | SAXException e) {
             throw new IllegalStateException("Trouble while initializing sax parser", e);
         }
+        this.feedFetcher = feedFetcher;
+    }
+
+    public void addItemListener(ItemListener itemListener) {
+        itemListeners.add(itemListener);
+    }
+
+    public void removeItemListener(ItemListener itemListener) {
+        itemListeners.remove(itemListener);
+    }
+
+    /**
+     * When false, parsed items only go to the item listeners and the returned channel has no items,
+     * so large feeds can be streamed into another representation without being held twice.
+     * {@link #loadRSS(String)} still holds the items until the feed is validated; only
+     * {@link #loadRSSLeniently(String)} streams them while parsing.
+     */
+    public void setRetainItems(boolean retainItems) {
+        this.retainItems = retainItems;
+    }
+
+    /**
+     * Lets {@link #loadRSSLeniently(String)} escape stray {@code &} and drop invalid control characters
+     * while reading, instead of stopping at them. Every named entity other than the five predefined ones is
+     * escaped, including entities declared in the feed's DTD.
+     */
+    public void setTolerantScanning(boolean tolerantScanning) {
+        this.tolerantScanning = tolerantScanning;
     }
 
     @Override
     public Channel loadRSS(String uri) throws PodcastReaderException {
         try {
-            var handler = new RSSHandler();
-            saxParser.parse(uri, handler);
+            handler.prepare(uri, retainItems, false);
+            parse(uri, handler);
             Channel podcast = handler.getPodcast();
             if (podcast.title() == null || podcast.title().isEmpty()) {
                 throw new PodcastReaderException("Not valid podcast");
             }
+            handler.deliverPendingItems(podcast);
             return podcast;
-        } catch (IOException | SAXException e) {
+        } catch (IOException | SAXException | URISyntaxException e) {
             throw new PodcastReaderException(e);
+        } finally {
+            handler.release();
         }
     }
 
+    @Override
+    public PodcastReadResult loadRSSLeniently(String uri) throws PodcastReaderException {
+        List<ParseDiagnostic> diagnostics = new ArrayList<>();
+        try (var raw = new LineTrackingInputStream(open(uri))) {
+            handler.prepare(uri, retainItems, true);
+            var tolerant = tolerantScanning ? new TolerantXmlInputStream(raw) : null;
+            handler.trackDiagnostics(raw, tolerant);
+            var source = new InputSource(tolerant == null ? raw : tolerant);
+            source.setSystemId(uri);
+            try {
+                saxParser.parse(source, handler);
+            } catch (SAXException | IOException e) {
+                diagnostics.add(handler.diagnose(e));
+            }
+            diagnostics.addAll(handler.recoverableErrors);
+            if (tolerant != null && tolerant.repairedAmpersands() + tolerant.droppedControlCharacters() > 0) {
+                diagnostics.add(new ParseDiagnostic(String.format("Repaired %d stray '&' and dropped %d control characters",
+                        tolerant.repairedAmpersands(), tolerant.droppedControlCharacters()), -1, -1, -1, ""));
+            }
+            Channel podcast = handler.getPodcast();
+            if (podcast.title() == null || podcast.title().isEmpty()) {
+                diagnostics.add(new ParseDiagnostic("Not valid podcast", -1, -1, -1, ""));
+            }
+            return new PodcastReadResult(podcast, List.copyOf(diagnostics));
+        } catch (IOException | URISyntaxException e) {
+            throw new PodcastReaderException(e);
+        } finally {
+            handler.release();
+        }
+    }
+
+    private InputStream open(String uri) throws IOException, URISyntaxException {
+        if (HttpFeedFetcher.supports(uri)) {
+            return feedFetcher.open(new URI(uri));
+        }
+        var parsed = new URI(uri);
+        return (parsed.isAbsolute() ? parsed : new File(uri).toURI()).toURL().openStream();
+    }
+
+    private void parse(String uri, RSSHandler handler) throws IOException, SAXException, URISyntaxException {
+        if (!HttpFeedFetcher.supports(uri)) {
+            saxParser.parse(uri, handler);
+            return;
+        }
+        try (InputStream body = feedFetcher.open(new URI(uri))) {
+            var source = new InputSource(body);
+            source.setSystemId(uri);
+            saxParser.parse(source, handler);
+        }
+    }
+
+    /**
+     * Readers created without a fetcher share this one, so they also share its connections.
+     */
+    private static class DefaultFeedFetcherHolder {
+        private static final HttpFeedFetcher INSTANCE = new HttpFeedFetcher.Builder().build();
+    }
+
     private static class RSSHandler extends DefaultHandler {
-        private final LinkedList<String> navigation = new LinkedList<>();
+        /**
+         * Buffers grown above this by one huge element are dropped after the document instead of kept for reuse.
+         */
+        private static final int MAX_RETAINED_TEXT_CAPACITY = 64 * 1024;
 
-        private StringBuilder currentStringBuilder;
+        private static final String ITUNES_PREFIX = "itunes";
+        private static final String ITUNES_NAMESPACE = "www.itunes.com/dtds/podcast-1.0.dtd";
+
+        private final List<String> navigation = new ArrayList<>();
+        /**
+         * Prefixes other than {@code itunes} the document binds to the itunes namespace. The parser is not
+         * namespace aware (so feeds using {@code itunes:} without declaring it still load), so declarations are
+         * tracked here and treated as document wide.
+         */
+        private final List<String> itunesPrefixAliases = new ArrayList<>(1);
+        private final List<ItemListener> itemListeners;
+        /**
+         * Diagnosed as they are reported, while the navigation still points at the offending element.
+         */
+        private final List<ParseDiagnostic> recoverableErrors = new ArrayList<>();
+        /**
+         * Only set by lenient loads, which are the only ones reporting diagnostics.
+         */
+        private LineTrackingInputStream diagnosticsInput;
+        /**
+         * Shifts columns by its repairs, null without tolerant scanning.
+         */
+        private TolerantXmlInputStream tolerantInput;
+        /**
+         * Items waiting for the feed to be validated when they are neither retained nor delivered while parsing.
+         */
+        private final List<Item> pendingItems = new ArrayList<>();
+        private Locator locator;
+        private String feedUri;
+        private boolean retainItems;
+        private boolean deliverWhileParsing;
+
+        private StringBuilder text = new StringBuilder(256);
+        private boolean capturingText;
+        private boolean inItem;
         private Channel.Builder channelBuilder;
         private Image.Builder imageBuilder;
-        private Item.Builder itemBuilder;
+        private final Item.Builder itemBuilder = new Item.Builder();
+        private final Enclosure.Builder enclosureBuilder = new Enclosure.Builder();
+        private final ItunesItemData.Builder itunesItemDataBuilder = new ItunesItemData.Builder();
         private ItunesChannelData.Builder itunesChannelDataBuilder;
         private ItunesCategory.Builder itunesCategoryBuilder;
         private ItunesOwner.Builder itunesOwnerBuilder;
-        private ItunesItemData.Builder itunesItemDataBuilder;
+
+        RSSHandler(List<ItemListener> itemListeners) {
+            this.itemListeners = itemListeners;
+        }
+
+        void prepare(String feedUri, boolean retainItems, boolean deliverWhileParsing) {
+            this.feedUri = feedUri;
+            this.retainItems = retainItems;
+            this.deliverWhileParsing = deliverWhileParsing;
+        }
+
+        void trackDiagnostics(LineTrackingInputStream input, TolerantXmlInputStream tolerantInput) {
+            this.diagnosticsInput = input;
+            this.tolerantInput = tolerantInput;
+        }
+
+        void deliverPendingItems(Channel podcast) {
+            if (!deliverWhileParsing) {
+                for (Item item : retainItems ? podcast.items() : pendingItems) {
+                    notifyItemListeners(item);
+                }
+            }
+        }
+
+        private void notifyItemListeners(Item item) {
+            for (ItemListener itemListener : itemListeners) {
+                itemListener.itemParsed(feedUri, item);
+            }
+        }
+
+        /**
+         * Drops everything referring to the last document, so a pooled handler does not keep its channel alive.
+         */
+        void release() {
+            feedUri = null;
+            locator = null;
+            diagnosticsInput = null;
+            tolerantInput = null;
+            navigation.clear();
+            itunesPrefixAliases.clear();
+            recoverableErrors.clear();
+            pendingItems.clear();
+            capturingText = false;
+            inItem = false;
+            if (text.capacity() > MAX_RETAINED_TEXT_CAPACITY) {
+                text = new StringBuilder(256);
+            } else {
+                text.setLength(0);
+            }
+            channelBuilder = null;
+            imageBuilder = null;
+            itemBuilder.reset();
+            enclosureBuilder.reset();
+            itunesItemDataBuilder.reset();
+            itunesChannelDataBuilder = null;
+            itunesCategoryBuilder = null;
+            itunesOwnerBuilder = null;
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public void warning(SAXParseException e) {
+            if (diagnosticsInput != null) {
+                recoverableErrors.add(diagnose(e));
+            }
+        }
+
+        @Override
+        public void error(SAXParseException e) {
+            if (diagnosticsInput != null) {
+                recoverableErrors.add(diagnose(e));
+            }
+        }
+
+        ParseDiagnostic diagnose(Exception e) {
+            var input = diagnosticsInput;
+            int line = -1;
+            int column = -1;
+            if (e instanceof SAXParseException parseException) {
+                line = parseException.getLineNumber();
+                column = parseException.getColumnNumber();
+            } else if (locator != null) {
+                line = locator.getLineNumber();
+                column = locator.getColumnNumber();
+            }
+            int rawColumn = tolerantInput == null || column < 1 ? column : tolerantInput.rawColumn(line, column);
+            return new ParseDiagnostic(e.getMessage(), input.offsetOf(line, rawColumn),
+                    line, rawColumn, String.join("/", navigation));
+        }
 
         @Override
         public void startDocument() throws SAXException {
+            newDocument();
+        }
+
+        private void newDocument() {
             channelBuilder = new Channel.Builder();
             imageBuilder = new Image.Builder();
-            itemBuilder = new Item.Builder();
             itunesChannelDataBuilder = new ItunesChannelData.Builder();
             itunesCategoryBuilder = new ItunesCategory.Builder();
             itunesOwnerBuilder = new ItunesOwner.Builder();
@@ -76,10 +324,9 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
-            var supportedElement =
-                    Element.getElement(localName.equals("") ? qName : localName + ":" + qName).orElse(null);
-            Predicate<Element> checkParent = elm -> !navigation.isEmpty() && navigation.peek().equals(elm.getElementName());
-            Predicate<Element> check2Parent = elm -> navigation.size() >= 2 && navigation.get(1).equals(elm.getElementName());
+            trackItunesPrefixes(attributes);
+            qName = canonicalName(qName);
+            var supportedElement = Element.getElement(qName);
 
             if (supportedElement != null) {
                 switch (supportedElement) {
@@ -89,88 +336,173 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
                         }
                     }
                     case CHANNEL -> {
-                        if (!checkParent.test(Element.RSS)) {
+                        if (!parentIs(Element.RSS)) {
                             throw new SAXException("No RSS element found in the XML");
                         }
                     }
                     case IMAGE -> {
-                        if (!checkParent.test(Element.CHANNEL)) {
+                        if (!parentIs(Element.CHANNEL)) {
                             throw new SAXException("No Channel element found in the XML");
                         }
                         imageBuilder = new Image.Builder();
                     }
                     case ITEM -> {
-                        if (!checkParent.test(Element.CHANNEL)) {
+                        if (!parentIs(Element.CHANNEL)) {
                             throw new SAXException("No Channel element found in the XML");
                         }
-                        itemBuilder = new Item.Builder();
-                        itunesItemDataBuilder = new ItunesItemData.Builder();
+                        itemBuilder.reset();
+                        itunesItemDataBuilder.reset();
+                        inItem = true;
                     }
                     case ENCLOSURE -> {
-                        if (checkParent.test(Element.ITEM) && itemBuilder != null) {
+                        if (parentIs(Element.ITEM) && inItem) {
                             readEnclosureElement(attributes);
                         }
                     }
                     case ITUNES_CATEGORY -> {
-                        if (checkParent.test(Element.CHANNEL)) {
+                        if (parentIs(Element.CHANNEL)) {
                             itunesCategoryBuilder.setCategory(attributes.getValue("text"));
-                        } else if (checkParent.test(Element.ITUNES_CATEGORY) && check2Parent.test(Element.CHANNEL)) {
+                        } else if (parentIs(Element.ITUNES_CATEGORY) && grandParentIs(Element.CHANNEL)) {
                             itunesCategoryBuilder.addSubCategory(attributes.getValue("text"));
                         }
                     }
                     case ITUNES_IMAGE -> {
-                        if (checkParent.test(Element.CHANNEL)) {
+                        if (parentIs(Element.CHANNEL)) {
                             itunesChannelDataBuilder.setImage(attributes.getValue("href"));
-                        } else if (checkParent.test(Element.ITEM)) {
+                        } else if (parentIs(Element.ITEM)) {
                             itunesItemDataBuilder.setImage(attributes.getValue("href"));
                         }
                     }
-                    default -> currentStringBuilder = new StringBuilder();
+                    default -> {
+                        text.setLength(0);
+                        capturingText = true;
+                    }
                 }
 
-            } else {
+            } else if (LOG.isLoggable(Level.FINE)) {
                 //TODO is logging enough?
-                LOG.fine(() -> String.format("Element %s not supported yet", (qName)));
+                LOG.fine(String.format("Element %s not supported yet", qName));
+            }
+
+            navigation.add(qName);
+        }
+
+        private void trackItunesPrefixes(Attributes attributes) {
+            for (int i = 0; i < attributes.getLength(); i++) {
+                var name = attributes.getQName(i);
+                if (name.startsWith("xmlns:") && isItunesNamespace(attributes.getValue(i))) {
+                    var prefix = name.substring("xmlns:".length());
+                    if (!prefix.equals(ITUNES_PREFIX) && !itunesPrefixAliases.contains(prefix)) {
+                        itunesPrefixAliases.add(prefix);
+                    }
+                }
+            }
+        }
+
+        private static boolean isItunesNamespace(String uri) {
+            var lowerCase = uri.trim().toLowerCase(Locale.ROOT);
+            return lowerCase.equals("http://" + ITUNES_NAMESPACE) || lowerCase.equals("https://" + ITUNES_NAMESPACE);
+        }
+
+        /**
+         * Rewrites elements of a prefix bound to the itunes namespace, like {@code itms:duration}, to
+         * {@code itunes:duration}.
+         */
+        private String canonicalName(String qName) {
+            for (String alias : itunesPrefixAliases) {
+                if (qName.length() > alias.length() && qName.charAt(alias.length()) == ':' && qName.startsWith(alias)) {
+                    return ITUNES_PREFIX + qName.substring(alias.length());
+                }
             }
+            return qName;
+        }
+
+        private boolean parentIs(Element element) {
+            return !navigation.isEmpty() && navigation.get(navigation.size() - 1).equals(element.getElementName());
+        }
 
-            navigation.push(qName);
+        private boolean grandParentIs(Element element) {
+            return navigation.size() >= 2 && navigation.get(navigation.size() - 2).equals(element.getElementName());
         }
 
         private void readEnclosureElement(Attributes attributes) {
-            var enclosure = new Enclosure.Builder()
-                    .setLength(Optional.ofNullable(attributes.getValue("length"))
-                            .map(Long::valueOf).orElse(null))
+            enclosureBuilder.reset()
+                    .setLength(parseLength(attributes.getValue("length")))
                     .setType(attributes.getValue("type"))
-                    .setUrl(attributes.getValue("url")).build();
-            itemBuilder.setEnclosure(enclosure);
+                    .setUrl(attributes.getValue("url"));
+            itemBuilder.setEnclosure(enclosureBuilder.build());
+        }
+
+        /**
+         * Reads the digits in place rather than through {@link Long#valueOf(String)}, and treats a malformed
+         * length as missing instead of failing the whole feed.
+         */
+        private static Long parseLength(String value) {
+            if (value == null) {
+                return null;
+            }
+            int start = 0;
+            int end = value.length();
+            while (start < end && value.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end || end - start > 18) {
+                return null;
+            }
+            long length = 0;
+            for (int i = start; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                length = length * 10 + (c - '0');
+            }
+            return length;
         }
 
         @Override
         public void endElement(String uri, String localName, String qName) throws SAXException {
-            navigation.poll();
-            var element = Element.getElement(qName);
-            if (!navigation.isEmpty() && element.isPresent()) {
-                Predicate<Element> checkParent = elm -> elm.getElementName().equals(navigation.peek());
-                Supplier<String> content = () -> currentStringBuilder == null ? null : currentStringBuilder.toString().trim();
-
-                if (checkParent.test(Element.CHANNEL)) {
-                    channelSwitches(element.get(), content.get());
-                } else if (checkParent.test(Element.IMAGE)) {
-                    imageSwitches(element.get(), content.get());
-                } else if (checkParent.test(Element.ITEM)) {
-                    itemSwitches(element.get(), content.get());
-                } else if (checkParent.test(Element.ITUNES_OWNER)) {
-                    itunesOwnerSwitches(element.get(), content.get());
-                }
-                if (Element.CHANNEL.getElementName().equals(navigation.peek())) {
-                    channelBuilder.setItunesChannelData(itunesChannelDataBuilder.build());
+            navigation.remove(navigation.size() - 1);
+            var element = Element.getElement(canonicalName(qName));
+            if (!navigation.isEmpty() && element != null) {
+                String content = textContent();
+
+                if (parentIs(Element.CHANNEL)) {
+                    channelSwitches(element, content);
+                } else if (parentIs(Element.IMAGE)) {
+                    imageSwitches(element, content);
+                } else if (parentIs(Element.ITEM)) {
+                    itemSwitches(element, content);
+                } else if (parentIs(Element.ITUNES_OWNER)) {
+                    itunesOwnerSwitches(element, content);
                 }
-                currentStringBuilder = null;
+                capturingText = false;
             } else {
                 //TODO decide
             }
         }
 
+        /**
+         * Same as {@code text.toString().trim()} with a single copy.
+         */
+        private String textContent() {
+            if (!capturingText) {
+                return null;
+            }
+            int start = 0;
+            int end = text.length();
+            while (start < end && text.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return text.substring(start, end);
+        }
+
         private void itunesOwnerSwitches(Element element, String content) {
             switch (element) {
                 case ITUNES_NAME -> itunesOwnerBuilder.setName(content);
@@ -188,7 +520,7 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
                 case LINK -> itemBuilder.setLink(content);
                 case DESCRIPTION -> itemBuilder.setDescription(content);
                 case CATEGORY -> itemBuilder.addCategory(content);
-                case ENCLOSURE -> {/*Already handled with attributes*/}
+                case ENCLOSURE, ITUNES_IMAGE -> {/*Already handled with attributes*/}
                 case ITUNES_EPISODE -> itunesItemDataBuilder.setEpisode(content);
                 case ITUNES_SEASON -> itunesItemDataBuilder.setSeason(content);
                 case ITUNES_EPISODE_TYPE -> itunesItemDataBuilder.setEpisodeType(content);
@@ -221,15 +553,23 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
                 case GENERATOR -> channelBuilder.setGenerator(content);
                 case PUB_DATE -> channelBuilder.setPubDate(content);
                 case LAST_BUILD_DATE -> channelBuilder.setLastBuildDate(content);
+                case ITUNES_IMAGE -> {/*Already handled with attributes*/}
                 case IMAGE -> {
                     channelBuilder.setImage(imageBuilder.build());
                     imageBuilder = null;
                 }
                 case ITEM -> {
                     itemBuilder.setItunesItemData(itunesItemDataBuilder.build());
-                    channelBuilder.addItem(itemBuilder.build());
-                    itemBuilder = null;
-                    itunesItemDataBuilder = null;
+                    var item = itemBuilder.build();
+                    if (retainItems) {
+                        channelBuilder.addItem(item);
+                    }
+                    if (deliverWhileParsing) {
+                        notifyItemListeners(item);
+                    } else if (!retainItems && !itemListeners.isEmpty()) {
+                        pendingItems.add(item);
+                    }
+                    inItem = false;
                 }
                 case ITUNES_CATEGORY -> itunesChannelDataBuilder.setCategory(itunesCategoryBuilder.build());
                 case ITUNES_EXPLICIT -> itunesChannelDataBuilder.setExplicit(content);
@@ -247,8 +587,8 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
 
         @Override
         public void characters(char[] ch, int start, int length) throws SAXException {
-            if (currentStringBuilder != null) {
-                currentStringBuilder.append(ch, start, length);
+            if (capturingText) {
+                text.append(ch, start, length);
             }
         }
 
@@ -258,6 +598,10 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
         }
 
         public Channel getPodcast() {
+            if (channelBuilder == null) {
+                newDocument();
+            }
+            channelBuilder.setItunesChannelData(itunesChannelDataBuilder.build());
             return channelBuilder.build();
         }
 
@@ -282,6 +626,14 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
             ITUNES_EPISODE_TYPE("itunes:episodeType"),
             ITUNES_DURATION("itunes:duration");
 
+            private static final Map<String, Element> BY_NAME = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+            static {
+                for (Element element : values()) {
+                    BY_NAME.put(element.elementName, element);
+                }
+            }
+
             private final String elementName;
 
             Element() {
@@ -292,9 +644,11 @@ public class PodcastReaderSaxParserImpl implements PodcastReader {
                 this.elementName = elementName;
             }
 
-            static Optional<Element> getElement(String elementName) {
-                return Arrays.stream(Element.values())
-                        .filter(el -> el.elementName.equalsIgnoreCase(elementName)).findFirst();
+            /**
+             * @return null for elements which are not supported
+             */
+            static Element getElement(String elementName) {
+                return BY_NAME.get(elementName);
             }
 
             String getElementName() {
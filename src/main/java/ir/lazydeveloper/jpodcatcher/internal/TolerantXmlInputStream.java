@@ -0,0 +1,244 @@
+package ir.lazydeveloper.jpodcatcher.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Repairs the two most common ways feeds break XML, before the parser sees them:
+ * <ul>
+ *     <li>an {@code &} which does not start a character reference or one of the five predefined XML entities
+ *     (a stray {@code &}, an HTML entity like {@code &nbsp;}, or even an entity the feed declares in its own
+ *     DTD) is escaped to {@code &amp;}</li>
+ *     <li>control characters which XML 1.0 does not allow are dropped</li>
+ * </ul>
+ * CDATA sections and comments are passed through untouched. Works on bytes, so it only rewrites ASCII compatible
+ * encodings; UTF-16 input (detected by its byte order mark) is passed through as is.
+ * <p>
+ * Lines are never added or removed, but repairs shift columns; the most recent edits are remembered so
+ * {@link #rawColumn(int, int)} can map a parser's column back to the raw feed.
+ */
+class TolerantXmlInputStream extends InputStream {
+    private static final int MAX_REFERENCE_LENGTH = 12;
+    private static final int TRACKED_EDITS = 1024;
+    private static final byte[] AMP_ESCAPE = "amp;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_START = "![CDATA[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_START = "!--".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_END = "]]>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_END = "-->".getBytes(StandardCharsets.US_ASCII);
+
+    private final PushbackInputStream in;
+    private final byte[] lookahead = new byte[MAX_REFERENCE_LENGTH];
+    private boolean started;
+    private boolean passThrough;
+    /**
+     * Terminator of the CDATA section or comment being passed through, null in regular content.
+     */
+    private byte[] verbatimEnd;
+    private int verbatimMatched;
+    private int pendingEscape = -1;
+    private int repairedAmpersands;
+    private int droppedControlCharacters;
+
+    /**
+     * Ring of the latest edits: on {@code editLines[i]}, every column after {@code editColumns[i]} is
+     * {@code editShifts[i]} bytes away from the raw column.
+     */
+    private final int[] editLines = new int[TRACKED_EDITS];
+    private final int[] editColumns = new int[TRACKED_EDITS];
+    private final int[] editShifts = new int[TRACKED_EDITS];
+    private int edits;
+    private int line = 1;
+    private int column;
+    private boolean lastWasCarriageReturn;
+
+    TolerantXmlInputStream(InputStream in) {
+        this.in = new PushbackInputStream(in, MAX_REFERENCE_LENGTH);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = readFiltered();
+        if (b == '\n' && lastWasCarriageReturn) {
+            column = 0;
+        } else if (b == '\n' || b == '\r') {
+            line++;
+            column = 0;
+        } else if (b >= 0) {
+            column++;
+        }
+        lastWasCarriageReturn = b == '\r';
+        return b;
+    }
+
+    private int readFiltered() throws IOException {
+        if (pendingEscape >= 0) {
+            int b = AMP_ESCAPE[pendingEscape++];
+            if (pendingEscape == AMP_ESCAPE.length) {
+                pendingEscape = -1;
+            }
+            return b;
+        }
+        if (!started) {
+            started = true;
+            passThrough = startsWithUtf16ByteOrderMark();
+        }
+        while (true) {
+            int b = in.read();
+            if (b < 0 || passThrough) {
+                return b;
+            }
+            if (verbatimEnd != null) {
+                // Both terminators are two equal bytes and '>', so "]]]>" or "--->" still end the section
+                if (b == verbatimEnd[verbatimMatched]) {
+                    verbatimMatched++;
+                } else if (b == verbatimEnd[0]) {
+                    verbatimMatched = verbatimMatched == 2 ? 2 : 1;
+                } else {
+                    verbatimMatched = 0;
+                }
+                if (verbatimMatched == verbatimEnd.length) {
+                    verbatimEnd = null;
+                    verbatimMatched = 0;
+                }
+                return b;
+            }
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r') {
+                droppedControlCharacters++;
+                recordEdit(column, 1);
+                continue;
+            }
+            if (b == '<') {
+                enterVerbatimIfStarting();
+            } else if (b == '&' && !startsReference()) {
+                repairedAmpersands++;
+                pendingEscape = 0;
+                // The '&' goes to column + 1, the inserted "amp;" after it
+                recordEdit(column + 1 + AMP_ESCAPE.length, -AMP_ESCAPE.length);
+            }
+            return b;
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < length) {
+            int b = read();
+            if (b < 0) {
+                return count == 0 ? -1 : count;
+            }
+            buffer[offset + count++] = (byte) b;
+            if (pendingEscape < 0 && in.available() == 0) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void recordEdit(int afterColumn, int shift) {
+        int slot = edits++ % TRACKED_EDITS;
+        editLines[slot] = line;
+        editColumns[slot] = afterColumn;
+        editShifts[slot] = shift;
+    }
+
+    /**
+     * Maps a 1-based column of the repaired output back to the raw input, exact for ASCII lines whose edits
+     * are still tracked.
+     */
+    int rawColumn(int line, int column) {
+        int raw = column;
+        for (int i = Math.max(0, edits - TRACKED_EDITS); i < edits; i++) {
+            int slot = i % TRACKED_EDITS;
+            if (editLines[slot] == line && column > editColumns[slot]) {
+                raw += editShifts[slot];
+            }
+        }
+        return raw;
+    }
+
+    int repairedAmpersands() {
+        return repairedAmpersands;
+    }
+
+    int droppedControlCharacters() {
+        return droppedControlCharacters;
+    }
+
+    private boolean startsWithUtf16ByteOrderMark() throws IOException {
+        int read = peek(2);
+        return read == 2 && ((lookahead[0] == (byte) 0xFE && lookahead[1] == (byte) 0xFF)
+                || (lookahead[0] == (byte) 0xFF && lookahead[1] == (byte) 0xFE));
+    }
+
+    private void enterVerbatimIfStarting() throws IOException {
+        if (peekMatches(CDATA_START)) {
+            verbatimEnd = CDATA_END;
+        } else if (peekMatches(COMMENT_START)) {
+            verbatimEnd = COMMENT_END;
+        }
+    }
+
+    private boolean peekMatches(byte[] expected) throws IOException {
+        int read = peek(expected.length);
+        if (read < expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (lookahead[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the bytes after an {@code &} for {@code #123;}, {@code #x1F;} or one of the predefined entities.
+     */
+    private boolean startsReference() throws IOException {
+        int read = peek(MAX_REFERENCE_LENGTH);
+        int semicolon = -1;
+        for (int i = 0; i < read; i++) {
+            if (lookahead[i] == ';') {
+                semicolon = i;
+                break;
+            }
+        }
+        if (semicolon < 1) {
+            return false;
+        }
+        var name = new String(lookahead, 0, semicolon, StandardCharsets.US_ASCII);
+        return switch (name) {
+            case "amp", "lt", "gt", "quot", "apos" -> true;
+            default -> name.matches("#[0-9]+|#x[0-9a-fA-F]+");
+        };
+    }
+
+    /**
+     * Reads up to {@code length} bytes into {@link #lookahead} and pushes them back.
+     */
+    private int peek(int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(lookahead, read, length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        if (read > 0) {
+            in.unread(lookahead, 0, read);
+        }
+        return read;
+    }
+}
@@ -22,6 +22,13 @@ public record Enclosure(String url, Long length, String type) {
             return this;
         }
 
+        public Builder reset() {
+            this.url = null;
+            this.length = null;
+            this.type = null;
+            return this;
+        }
+
         public Enclosure build() {
             return new Enclosure(url, length, type);
         }
@@ -49,8 +49,23 @@ public record Item(String guid, String title, String pubDate, String link, Strin
             this.itunesItemData = itunesItemData;
         }
 
+        /**
+         * Makes the builder ready for the next item; items built earlier are not affected.
+         */
+        public void reset() {
+            guid = null;
+            title = null;
+            pubDate = null;
+            link = null;
+            description = null;
+            enclosure = null;
+            itunesItemData = null;
+            categories.clear();
+        }
+
         public Item build() {
-            return new Item(guid, title, pubDate, link, description, enclosure, categories, itunesItemData);
+            return new Item(guid, title, pubDate, link, description, enclosure, new ArrayList<>(categories),
+                    itunesItemData);
         }
     }
 }
@@ -0,0 +1,376 @@
+package ir.lazydeveloper.jpodcatcher.model;
+
+import ir.lazydeveloper.jpodcatcher.ItemListener;
+import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column oriented storage for large numbers of items.
+ * <p>
+ * Instead of one {@link Item} record with nested {@link Enclosure}, {@link ItunesItemData} and a category list per
+ * episode, every field is a column: lengths, durations and timestamps are primitive arrays, repetitive strings
+ * (types, categories, flags) are dictionary encoded, and a reusable {@link Row} reads one episode without
+ * materializing it. Register the table with {@code PodcastReaderSaxParserImpl#addItemListener} and turn off
+ * {@code setRetainItems} to fill it straight from the parser.
+ * <p>
+ * Not thread safe; readers filling it concurrently need external synchronization.
+ */
+public class ItemTable implements ItemListener {
+
+    public static final long NO_LENGTH = Long.MIN_VALUE;
+    public static final int NO_DURATION = ItunesItemData.NO_DURATION;
+
+    private int size;
+
+    private String[] guids;
+    private String[] titles;
+    private String[] pubDates;
+    private long[] pubDateMillis;
+    private String[] links;
+    private String[] descriptions;
+
+    private String[] enclosureUrls;
+    private long[] enclosureLengths;
+    private int[] enclosureTypes;
+    private final BitSet hasEnclosure = new BitSet();
+    private final StringDictionary enclosureTypeDictionary = new StringDictionary();
+
+    private int[] categoryOffsets;
+    private int[] categoryCodes;
+    private final StringDictionary categoryDictionary = new StringDictionary();
+
+    private final BitSet hasItunes = new BitSet();
+    private String[] itunesTitles;
+    private String[] itunesImages;
+    private int[] durationSeconds;
+    /**
+     * Only set when the original text is not the plain number of seconds, e.g. {@code 00:17:59}.
+     */
+    private String[] durationTexts;
+    private int[] episodeTypes;
+    private int[] episodes;
+    private int[] seasons;
+    private int[] explicits;
+    private int[] blocks;
+    private final StringDictionary itunesDictionary = new StringDictionary();
+
+    public ItemTable() {
+        this(1024);
+    }
+
+    public ItemTable(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 1));
+        categoryOffsets = new int[guids.length + 1];
+        categoryCodes = new int[guids.length];
+    }
+
+    @Override
+    public void itemParsed(String feedUri, Item item) {
+        append(item);
+    }
+
+    public void append(Channel channel) {
+        channel.items().forEach(this::append);
+    }
+
+    /**
+     * @return the row number of the appended item
+     */
+    public int append(Item item) {
+        if (size == guids.length) {
+            allocate(size * 2);
+        }
+        int row = size;
+        guids[row] = item.guid();
+        titles[row] = item.title();
+        pubDates[row] = item.pubDate();
+        pubDateMillis[row] = RssDates.toEpochMillis(item.pubDate());
+        links[row] = item.link();
+        descriptions[row] = item.description();
+
+        var enclosure = item.enclosure();
+        hasEnclosure.set(row, enclosure != null);
+        enclosureUrls[row] = enclosure == null ? null : enclosure.url();
+        enclosureLengths[row] = enclosure == null || enclosure.length() == null ? NO_LENGTH : enclosure.length();
+        enclosureTypes[row] = enclosureTypeDictionary.encode(enclosure == null ? null : enclosure.type());
+
+        appendCategories(row, item.categories());
+
+        var itunes = item.itunesItemData();
+        hasItunes.set(row, itunes != null);
+        if (itunes != null) {
+            itunesTitles[row] = itunes.title();
+            itunesImages[row] = itunes.image();
+            int seconds = itunes.durationSeconds();
+            durationSeconds[row] = seconds;
+            durationTexts[row] = seconds != NO_DURATION && String.valueOf(seconds).equals(itunes.duration())
+                    ? null : itunes.duration();
+            episodeTypes[row] = itunesDictionary.encode(itunes.episodeType());
+            episodes[row] = itunesDictionary.encode(itunes.episode());
+            seasons[row] = itunesDictionary.encode(itunes.season());
+            explicits[row] = itunesDictionary.encode(itunes.explicit());
+            blocks[row] = itunesDictionary.encode(itunes.block());
+        } else {
+            itunesTitles[row] = null;
+            itunesImages[row] = null;
+            durationSeconds[row] = NO_DURATION;
+            durationTexts[row] = null;
+            episodeTypes[row] = StringDictionary.NULL_CODE;
+            episodes[row] = StringDictionary.NULL_CODE;
+            seasons[row] = StringDictionary.NULL_CODE;
+            explicits[row] = StringDictionary.NULL_CODE;
+            blocks[row] = StringDictionary.NULL_CODE;
+        }
+        size++;
+        return row;
+    }
+
+    private void appendCategories(int row, List<String> categories) {
+        int start = categoryOffsets[row];
+        int end = start + categories.size();
+        if (end > categoryCodes.length) {
+            categoryCodes = Arrays.copyOf(categoryCodes, Math.max(end, categoryCodes.length * 2));
+        }
+        for (int i = 0; i < categories.size(); i++) {
+            categoryCodes[start + i] = categoryDictionary.encode(categories.get(i));
+        }
+        categoryOffsets[row + 1] = end;
+    }
+
+    private void allocate(int capacity) {
+        guids = guids == null ? new String[capacity] : Arrays.copyOf(guids, capacity);
+        titles = titles == null ? new String[capacity] : Arrays.copyOf(titles, capacity);
+        pubDates = pubDates == null ? new String[capacity] : Arrays.copyOf(pubDates, capacity);
+        pubDateMillis = pubDateMillis == null ? new long[capacity] : Arrays.copyOf(pubDateMillis, capacity);
+        links = links == null ? new String[capacity] : Arrays.copyOf(links, capacity);
+        descriptions = descriptions == null ? new String[capacity] : Arrays.copyOf(descriptions, capacity);
+        enclosureUrls = enclosureUrls == null ? new String[capacity] : Arrays.copyOf(enclosureUrls, capacity);
+        enclosureLengths = enclosureLengths == null ? new long[capacity] : Arrays.copyOf(enclosureLengths, capacity);
+        enclosureTypes = enclosureTypes == null ? new int[capacity] : Arrays.copyOf(enclosureTypes, capacity);
+        itunesTitles = itunesTitles == null ? new String[capacity] : Arrays.copyOf(itunesTitles, capacity);
+        itunesImages = itunesImages == null ? new String[capacity] : Arrays.copyOf(itunesImages, capacity);
+        durationSeconds = durationSeconds == null ? new int[capacity] : Arrays.copyOf(durationSeconds, capacity);
+        durationTexts = durationTexts == null ? new String[capacity] : Arrays.copyOf(durationTexts, capacity);
+        episodeTypes = episodeTypes == null ? new int[capacity] : Arrays.copyOf(episodeTypes, capacity);
+        episodes = episodes == null ? new int[capacity] : Arrays.copyOf(episodes, capacity);
+        seasons = seasons == null ? new int[capacity] : Arrays.copyOf(seasons, capacity);
+        explicits = explicits == null ? new int[capacity] : Arrays.copyOf(explicits, capacity);
+        blocks = blocks == null ? new int[capacity] : Arrays.copyOf(blocks, capacity);
+        if (categoryOffsets != null) {
+            categoryOffsets = Arrays.copyOf(categoryOffsets, capacity + 1);
+        }
+    }
+
+    /**
+     * Releases the spare capacity left by growing, once loading is done.
+     */
+    public void trimToSize() {
+        allocate(Math.max(size, 1));
+        categoryCodes = Arrays.copyOf(categoryCodes, categoryOffsets[size]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long enclosureLength(int row) {
+        checkRow(row);
+        return enclosureLengths[row];
+    }
+
+    public int durationSeconds(int row) {
+        checkRow(row);
+        return durationSeconds[row];
+    }
+
+    public long pubDateMillis(int row) {
+        checkRow(row);
+        return pubDateMillis[row];
+    }
+
+    /**
+     * A reusable view positioned with {@link Row#moveTo(int)}, for scans that should not allocate per row.
+     */
+    public Row row() {
+        return new Row();
+    }
+
+    /**
+     * Materializes the row as a regular {@link Item}.
+     */
+    public Item get(int row) {
+        checkRow(row);
+        var builder = new Item.Builder();
+        builder.setGuid(guids[row]);
+        builder.setTitle(titles[row]);
+        builder.setPubDate(pubDates[row]);
+        builder.setLink(links[row]);
+        builder.setDescription(descriptions[row]);
+        if (hasEnclosure.get(row)) {
+            builder.setEnclosure(new Enclosure.Builder()
+                    .setUrl(enclosureUrls[row])
+                    .setLength(enclosureLengths[row] == NO_LENGTH ? null : enclosureLengths[row])
+                    .setType(enclosureTypeDictionary.decode(enclosureTypes[row]))
+                    .build());
+        }
+        for (int i = categoryOffsets[row]; i < categoryOffsets[row + 1]; i++) {
+            builder.addCategory(categoryDictionary.decode(categoryCodes[i]));
+        }
+        if (hasItunes.get(row)) {
+            var itunes = new ItunesItemData.Builder();
+            itunes.setTitle(itunesTitles[row]);
+            itunes.setImage(itunesImages[row]);
+            itunes.setDuration(durationText(row));
+            itunes.setEpisodeType(itunesDictionary.decode(episodeTypes[row]));
+            itunes.setEpisode(itunesDictionary.decode(episodes[row]));
+            itunes.setSeason(itunesDictionary.decode(seasons[row]));
+            itunes.setExplicit(itunesDictionary.decode(explicits[row]));
+            itunes.setBlock(itunesDictionary.decode(blocks[row]));
+            builder.setItunesItemData(itunes.build());
+        }
+        return builder.build();
+    }
+
+    public List<Item> toItems() {
+        List<Item> items = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            items.add(get(row));
+        }
+        return items;
+    }
+
+    private String durationText(int row) {
+        if (durationTexts[row] != null) {
+            return durationTexts[row];
+        }
+        return durationSeconds[row] == NO_DURATION ? null : String.valueOf(durationSeconds[row]);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        }
+    }
+
+    public class Row {
+        private int row = -1;
+
+        private Row() {
+        }
+
+        public Row moveTo(int row) {
+            checkRow(row);
+            this.row = row;
+            return this;
+        }
+
+        public int index() {
+            return row;
+        }
+
+        public String guid() {
+            return guids[row];
+        }
+
+        public String title() {
+            return titles[row];
+        }
+
+        public String pubDate() {
+            return pubDates[row];
+        }
+
+        public long pubDateMillis() {
+            return pubDateMillis[row];
+        }
+
+        public String link() {
+            return links[row];
+        }
+
+        public String description() {
+            return descriptions[row];
+        }
+
+        public boolean hasEnclosure() {
+            return hasEnclosure.get(row);
+        }
+
+        /**
+         * @return null without an enclosure or when the enclosure has no url, see {@link #hasEnclosure()}
+         */
+        public String enclosureUrl() {
+            return enclosureUrls[row];
+        }
+
+        public long enclosureLength() {
+            return enclosureLengths[row];
+        }
+
+        public String enclosureType() {
+            return enclosureTypeDictionary.decode(enclosureTypes[row]);
+        }
+
+        public int categoryCount() {
+            return categoryOffsets[row + 1] - categoryOffsets[row];
+        }
+
+        public String category(int index) {
+            if (index < 0 || index >= categoryCount()) {
+                throw new IndexOutOfBoundsException("Category " + index + " out of " + categoryCount());
+            }
+            return categoryDictionary.decode(categoryCodes[categoryOffsets[row] + index]);
+        }
+
+        public boolean hasItunes() {
+            return hasItunes.get(row);
+        }
+
+        public String itunesTitle() {
+            return itunesTitles[row];
+        }
+
+        public String itunesImage() {
+            return itunesImages[row];
+        }
+
+        public int durationSeconds() {
+            return durationSeconds[row];
+        }
+
+        /**
+         * The duration as it appeared in the feed, like {@code 00:17:59}.
+         */
+        public String durationText() {
+            return ItemTable.this.durationText(row);
+        }
+
+        public String episodeType() {
+            return itunesDictionary.decode(episodeTypes[row]);
+        }
+
+        public String episode() {
+            return itunesDictionary.decode(episodes[row]);
+        }
+
+        public String season() {
+            return itunesDictionary.decode(seasons[row]);
+        }
+
+        public String explicit() {
+            return itunesDictionary.decode(explicits[row]);
+        }
+
+        public String block() {
+            return itunesDictionary.decode(blocks[row]);
+        }
+
+        public Item toItem() {
+            return get(row);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ir.lazydeveloper.jpodcatcher.model;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+public final class RssDates {
+
+    /**
+     * Returned for missing or unparsable dates, so they sort before everything else.
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private RssDates() {
+    }
+
+    /**
+     * Converts an RFC 822 date like {@code Thu, 21 Nov 2019 09:00:00 -0000} to epoch milliseconds.
+     */
+    public static long toEpochMillis(String date) {
+        if (date == null || date.isBlank()) {
+            return UNKNOWN;
+        }
+        try {
+            return ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return UNKNOWN;
+        }
+    }
+}
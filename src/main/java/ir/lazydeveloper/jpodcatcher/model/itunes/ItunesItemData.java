@@ -2,6 +2,50 @@ package ir.lazydeveloper.jpodcatcher.model.itunes;
 
 public record ItunesItemData(String title, String episodeType, String episode, String season, String duration,
                              String explicit, String image, String block) {
+    public static final int NO_DURATION = -1;
+
+    /**
+     * @return the duration in seconds, or {@link #NO_DURATION} when missing or not understood
+     */
+    public int durationSeconds() {
+        return parseDuration(duration);
+    }
+
+    /**
+     * Accepts {@code SS}, {@code MM:SS} and {@code HH:MM:SS}; more segments or a total above
+     * {@link Integer#MAX_VALUE} seconds give {@link #NO_DURATION}.
+     */
+    public static int parseDuration(String duration) {
+        if (duration == null || duration.isEmpty()) {
+            return NO_DURATION;
+        }
+        long seconds = 0;
+        long part = 0;
+        int separators = 0;
+        boolean digitSeen = false;
+        for (int i = 0; i < duration.length(); i++) {
+            char c = duration.charAt(i);
+            if (c >= '0' && c <= '9') {
+                part = part * 10 + (c - '0');
+                digitSeen = true;
+                if (part > Integer.MAX_VALUE) {
+                    return NO_DURATION;
+                }
+            } else if (c == ':' && digitSeen && ++separators <= 2) {
+                seconds = seconds * 60 + part;
+                if (seconds > Integer.MAX_VALUE) {
+                    return NO_DURATION;
+                }
+                part = 0;
+                digitSeen = false;
+            } else {
+                return NO_DURATION;
+            }
+        }
+        seconds = seconds * 60 + part;
+        return digitSeen && seconds <= Integer.MAX_VALUE ? (int) seconds : NO_DURATION;
+    }
+
     public static class Builder {
         private String title;
         private String episodeType;
@@ -44,6 +88,17 @@ public record ItunesItemData(String title, String episodeType, String episode, S
             this.block = block;
         }
 
+        public void reset() {
+            title = null;
+            episodeType = null;
+            episode = null;
+            season = null;
+            duration = null;
+            explicit = null;
+            image = null;
+            block = null;
+        }
+
         public ItunesItemData build() {
             return new ItunesItemData(title, episodeType, episode, season, duration, explicit, image, block);
         }
@@ -0,0 +1,144 @@
+package ir.lazydeveloper.jpodcatcher.dedup;
+
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.internal.PodcastReaderSaxParserImpl;
+import ir.lazydeveloper.jpodcatcher.model.Enclosure;
+import ir.lazydeveloper.jpodcatcher.model.Item;
+import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cross-feed episode deduplication")
+@DisplayNameGeneration(DisplayNameGenerator.Simple.class)
+class FingerprintIndexTest {
+
+    private FingerprintIndex fingerprintIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        fingerprintIndex = new FingerprintIndex(1000);
+    }
+
+    @Test
+    void enclosureUrlsShouldBeNormalized() {
+        var expected = "media.example.com/show/episode.mp3";
+        assertAll(
+                () -> assertEquals(expected, EpisodeFingerprint.normalizeEnclosureUrl("https://media.example.com/show/episode.mp3")),
+                () -> assertEquals(expected, EpisodeFingerprint.normalizeEnclosureUrl(" http://WWW.Media.Example.com:80/show/episode.mp3#t=10 ")),
+                () -> assertEquals(expected, EpisodeFingerprint.normalizeEnclosureUrl("https://media.example.com/show/episode.mp3?utm_source=rss")),
+                () -> assertEquals(expected, EpisodeFingerprint.normalizeEnclosureUrl("https://dts.podtrac.com/redirect.mp3/media.example.com/show/episode.mp3")),
+                () -> assertEquals(expected, EpisodeFingerprint.normalizeEnclosureUrl("https://chtbl.com/track/AB12C/dts.podtrac.com/redirect.mp3/media.example.com/show/episode.mp3")),
+                () -> assertEquals(expected + "?id=7", EpisodeFingerprint.normalizeEnclosureUrl("https://media.example.com/show/episode.mp3?id=7&utm_medium=x"))
+        );
+    }
+
+    @Test
+    void sameEnclosureInAnotherFeedShouldBeDuplicate() {
+        fingerprintIndex.register("feed-a", item("Episode 1", "https://media.example.com/1.mp3", 1000L, "60"));
+        var duplicate = fingerprintIndex.register("feed-b",
+                item("Episode 1 (rebroadcast)", "https://dts.podtrac.com/redirect.mp3/media.example.com/1.mp3", 1000L, "61"));
+        assertTrue(duplicate.isPresent());
+        assertEquals("feed-a", duplicate.get().originalFeedUri());
+        assertEquals(1, fingerprintIndex.duplicates());
+    }
+
+    @Test
+    void sameTitleAndDurationInAnotherFeedShouldBeDuplicate() {
+        fingerprintIndex.register("feed-a", item("Episode 1: Hello!", "https://a.example.com/1.mp3", 1000L, "00:01:00"));
+        assertTrue(fingerprintIndex.register("feed-b", item("episode 1 - hello", "https://b.example.com/1.mp3", 2000L, "60")).isPresent());
+    }
+
+    @Test
+    void differentEpisodesShouldNotBeDuplicates() {
+        fingerprintIndex.register("feed-a", item("Episode 1", "https://media.example.com/1.mp3", 1000L, "60"));
+        assertAll(
+                () -> assertFalse(fingerprintIndex.register("feed-b", item("Episode 1", "https://media.example.com/2.mp3", 1000L, "90")).isPresent()),
+                () -> assertFalse(fingerprintIndex.register("feed-b", item("Episode 3", "https://media.example.com/1.mp3", 5000L, "60")).isPresent())
+        );
+    }
+
+    @Test
+    void sameTitleWithoutDurationShouldNotBeDuplicate() {
+        fingerprintIndex.register("showA", item("Trailer", "https://a.example.com/trailer.mp3", 1000L, null));
+        assertAll(
+                () -> assertFalse(fingerprintIndex.register("showB", item("Trailer", "https://b.example.com/trailer.mp3", 2000L, null)).isPresent()),
+                () -> assertFalse(fingerprintIndex.register("showC", item("Trailer", "https://c.example.com/trailer.mp3", 3000L, "1:2:3:4")).isPresent()),
+                () -> assertEquals(EpisodeFingerprint.NONE, EpisodeFingerprint.of(item("Trailer", null, null, null)).contentKey())
+        );
+    }
+
+    @Test
+    void reloadingTheSameFeedShouldNotFlagDuplicates() {
+        var item = item("Episode 1", "https://media.example.com/1.mp3", 1000L, "60");
+        fingerprintIndex.register("feed-a", item);
+        assertFalse(fingerprintIndex.register("feed-a", item).isPresent());
+    }
+
+    @Test
+    void exactMapsShouldOnlyRememberRecentKeys() {
+        var index = new FingerprintIndex(4);
+        var first = item("Episode 0", "https://media.example.com/0.mp3", 1000L, "60");
+        index.register("feed-a", first);
+        for (int i = 1; i <= 10; i++) {
+            index.register("feed-a", item("Episode " + i, "https://media.example.com/" + i + ".mp3", 1000L, "60"));
+        }
+        assertFalse(index.register("feed-b", first).isPresent());
+        assertTrue(index.register("feed-c", first).isPresent());
+    }
+
+    @Test
+    void bloomFilterShouldKeepItsFalsePositiveRateForNarrowKeys() {
+        // Keys whose upper 32 bits are zero used to put every probe on the same bit
+        var filter = new BloomFilter(10_000, 0.01);
+        for (long key = 1; key <= 10_000; key++) {
+            filter.put(key);
+        }
+        int falsePositives = 0;
+        for (long key = 10_001; key <= 110_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(filter.mightContain(key));
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void duplicatesShouldBeFlaggedWhileParsing() throws IOException, PodcastReaderException {
+        List<Duplicate> duplicates = new ArrayList<>();
+        var index = new FingerprintIndex(1000, 1000, 0.01, duplicates::add);
+        var reader = new PodcastReaderSaxParserImpl();
+        reader.addItemListener(index);
+        Path mirror = Files.createTempFile("mirror_podcast", ".xml");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("simple_podcast.xml")) {
+            Files.write(mirror, in.readAllBytes());
+            var originalURI = getClass().getClassLoader().getResource("simple_podcast.xml").toString();
+            reader.loadRSS(originalURI);
+            reader.loadRSS(mirror.toUri().toString());
+            assertEquals(2, duplicates.size());
+            assertEquals(originalURI, duplicates.get(0).originalFeedUri());
+        } finally {
+            Files.deleteIfExists(mirror);
+        }
+    }
+
+    private static Item item(String title, String url, Long length, String duration) {
+        var builder = new Item.Builder();
+        builder.setTitle(title);
+        builder.setEnclosure(new Enclosure.Builder().setUrl(url).setLength(length).setType("audio/mpeg").build());
+        var itunes = new ItunesItemData.Builder();
+        itunes.setDuration(duration);
+        builder.setItunesItemData(itunes.build());
+        return builder.build();
+    }
+}
@@ -0,0 +1,154 @@
+package ir.lazydeveloper.jpodcatcher.index;
+
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.internal.PodcastReaderSaxParserImpl;
+import ir.lazydeveloper.jpodcatcher.model.Channel;
+import ir.lazydeveloper.jpodcatcher.model.Item;
+import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Searching parsed episodes")
+@DisplayNameGeneration(DisplayNameGenerator.Simple.class)
+class EpisodeIndexTest {
+
+    private final String simplePodcastURI = getClass().getClassLoader().getResource("simple_podcast.xml").toString();
+    private EpisodeIndex episodeIndex;
+    private PodcastReaderSaxParserImpl reader;
+
+    @BeforeEach
+    void beforeEach() throws PodcastReaderException {
+        episodeIndex = new EpisodeIndex();
+        reader = new PodcastReaderSaxParserImpl();
+        reader.addItemListener(episodeIndex);
+        reader.loadRSS(simplePodcastURI);
+        reader.loadRSS(getClass().getClassLoader().getResource("podcast_with_itunes.rss").toString());
+    }
+
+    @Test
+    void itemsShouldBeIndexedWhileParsing() {
+        assertEquals(3, episodeIndex.size());
+    }
+
+    @Test
+    void reloadingAFeedShouldNotIndexItsItemsAgain() throws PodcastReaderException {
+        reader.loadRSS(simplePodcastURI);
+        reader.loadRSS(simplePodcastURI);
+        assertEquals(3, episodeIndex.size());
+        assertEquals("Technically Sweet", single(episodeIndex.search("sweet", 10)).title());
+    }
+
+    @Test
+    void changedItemShouldReplaceTheOneWithTheSameGuid() {
+        episodeIndex.add("feed", item("guid-1", "Original title", "01 Jan 2015 09:00:00 -0000"));
+        episodeIndex.add("feed", item("guid-1", "Edited title", "01 Jan 2015 09:00:00 -0000"));
+        assertAll(
+                () -> assertEquals(4, episodeIndex.size()),
+                () -> assertTrue(episodeIndex.search("original", 10).isEmpty()),
+                () -> assertTrue(episodeIndex.searchPrefix("origin", 10).isEmpty()),
+                () -> assertEquals("Edited title", single(episodeIndex.search("title", 10)).title())
+        );
+    }
+
+    @Test
+    void termQueryShouldMatchTitleDescriptionAndCategories() {
+        assertAll(
+                () -> assertEquals("Technically Sweet", single(episodeIndex.search("sweet", 10)).title()),
+                () -> assertEquals("Technically Sweet", single(episodeIndex.search("Chocolate", 10)).title()),
+                () -> assertEquals("Technically Sweet", single(episodeIndex.search("blockchain", 10)).title()),
+                () -> assertEquals("aae20190418", single(episodeIndex.search("hiking trailer", 10)).guid())
+        );
+    }
+
+    @Test
+    void htmlTagsShouldNotBeIndexed() {
+        assertTrue(episodeIndex.search("href", 10).isEmpty());
+    }
+
+    @Test
+    void reusedDocumentIdsShouldKeepSearchesCorrect() {
+        for (int edit = 0; edit < 20; edit++) {
+            for (int day = 1; day <= 5; day++) {
+                episodeIndex.add("feed", item("guid-" + day, "Edited episode " + day + " v" + edit,
+                        "0" + day + " Jan 2015 09:00:00 -0000"));
+            }
+        }
+        assertAll(
+                () -> assertEquals(8, episodeIndex.size()),
+                () -> assertEquals(List.of("Edited episode 5 v19", "Edited episode 4 v19", "Edited episode 3 v19"),
+                        episodeIndex.search("edited episode v19", 3).stream().map(Item::title).toList()),
+                () -> assertTrue(episodeIndex.search("v18", 10).isEmpty()),
+                () -> assertEquals(5, episodeIndex.searchPrefix("edit", 10).size())
+        );
+    }
+
+    @Test
+    void channelsSharingAGuidShouldNotReplaceEachOther() {
+        var index = new EpisodeIndex();
+        index.add(channel("https://a.example.com", "Show A", item("1", "Episode of show A", "01 Jan 2015 09:00:00 -0000")));
+        index.add(channel("https://b.example.com", "Show B", item("1", "Episode of show B", "01 Jan 2015 09:00:00 -0000")));
+        index.add(channel(null, "Show C", item("1", "Episode of show C", "01 Jan 2015 09:00:00 -0000")));
+        assertEquals(3, index.size());
+        assertEquals(3, index.search("episode", 10).size());
+    }
+
+    @Test
+    void bareLessThanShouldNotHideTheFollowingText() {
+        var builder = new Item.Builder();
+        builder.setTitle("Top 3 < 5 reasons to listen");
+        builder.setDescription("Why 3 < 5 matters for <b>python</b> developers <!-- hidden -->");
+        episodeIndex.add(builder.build());
+        assertAll(
+                () -> assertEquals(1, episodeIndex.search("reasons", 10).size()),
+                () -> assertEquals(1, episodeIndex.search("python developers", 10).size()),
+                () -> assertTrue(episodeIndex.search("hidden", 10).isEmpty())
+        );
+    }
+
+    @Test
+    void prefixQueryShouldReturnNewestFirst() {
+        episodeIndex.add(item("Training old models", "01 Jan 2010 09:00:00 -0000"));
+        episodeIndex.add(item("Training new models", "01 Jan 2021 09:00:00 -0000"));
+        List<Item> result = episodeIndex.searchPrefix("train", 10);
+        assertEquals(List.of("Training new models", "Training Computers to See", "Training old models"),
+                result.stream().map(Item::title).toList());
+    }
+
+    @Test
+    void resultsShouldBeLimitedToTopK() {
+        for (int day = 1; day <= 9; day++) {
+            episodeIndex.add(item("Episode " + day, "0" + day + " Jan 2015 09:00:00 -0000"));
+        }
+        assertEquals(List.of("Episode 9", "Episode 8"),
+                episodeIndex.search("episode", 2).stream().map(Item::title).toList());
+    }
+
+    private static Channel channel(String link, String title, Item item) {
+        var builder = new Channel.Builder();
+        builder.setLink(link);
+        builder.setTitle(title);
+        builder.addItem(item);
+        return builder.build();
+    }
+
+    private static Item single(List<Item> items) {
+        assertEquals(1, items.size());
+        return items.get(0);
+    }
+
+    private static Item item(String title, String pubDate) {
+        return item(null, title, pubDate);
+    }
+
+    private static Item item(String guid, String title, String pubDate) {
+        var builder = new Item.Builder();
+        builder.setGuid(guid);
+        builder.setTitle(title);
+        builder.setPubDate(pubDate);
+        builder.setItunesItemData(new ItunesItemData.Builder().build());
+        return builder.build();
+    }
+}
@@ -0,0 +1,187 @@
+package ir.lazydeveloper.jpodcatcher.internal;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.model.Channel;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fetching podcasts over HTTP")
+@DisplayNameGeneration(DisplayNameGenerator.Simple.class)
+class HttpFeedFetcherTest {
+
+    private HttpServer server;
+    private String baseURI;
+    private final AtomicInteger redirectHits = new AtomicInteger();
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private ExecutorService serverExecutor;
+
+    /**
+     * A local server with the sample podcast, a permanent redirect to it and a missing path
+     */
+    @BeforeEach
+    void startServer() throws IOException {
+        byte[] podcast;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("simple_podcast.xml")) {
+            podcast = in.readAllBytes();
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/feed.xml", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/rss+xml");
+            exchange.sendResponseHeaders(200, podcast.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(podcast);
+            }
+        });
+        server.createContext("/moved.xml", exchange -> {
+            redirectHits.incrementAndGet();
+            exchange.getResponseHeaders().add("Location", "/feed.xml");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.createContext("/my feed.xml", exchange -> {
+            exchange.sendResponseHeaders(200, podcast.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(podcast);
+            }
+        });
+        server.createContext("/spaced.xml", exchange -> redirect(exchange, "/my feed.xml"));
+        server.createContext("/to-ftp.xml", exchange -> redirect(exchange, "ftp://localhost/feed.xml"));
+        server.createContext("/to-bad-uri.xml", exchange -> redirect(exchange, "http://[bad/feed.xml"));
+        server.createContext("/stalling.xml", exchange -> {
+            exchange.sendResponseHeaders(200, podcast.length);
+            var out = exchange.getResponseBody();
+            out.write(podcast, 0, podcast.length / 2);
+            out.flush();
+            try {
+                stalled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/missing.xml", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseURI = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+
+    @AfterEach
+    void stopServer() {
+        stalled.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void loadRSSOverHttpShouldContainChannelData() throws PodcastReaderException {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().build());
+        Channel channel = reader.loadRSS(baseURI + "/feed.xml");
+        assertAll(
+                () -> assertEquals("Raw Data", channel.title()),
+                () -> assertEquals(2, channel.items().size())
+        );
+    }
+
+    @Test
+    void permanentRedirectShouldBeFollowedOnlyOnce() throws PodcastReaderException {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().build());
+        assertEquals("Raw Data", reader.loadRSS(baseURI + "/moved.xml").title());
+        assertEquals("Raw Data", reader.loadRSS(baseURI + "/moved.xml").title());
+        assertEquals(1, redirectHits.get(), "the second load must use the cached redirect");
+    }
+
+    @Test
+    void missingFeedShouldThrowException() {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().build());
+        assertThrows(PodcastReaderException.class, () -> reader.loadRSS(baseURI + "/missing.xml"));
+    }
+
+    @Test
+    void redirectWithUnencodedSpaceShouldBeFollowed() throws PodcastReaderException {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().build());
+        assertEquals("Raw Data", reader.loadRSS(baseURI + "/spaced.xml").title());
+    }
+
+    @Test
+    void badRedirectOrUriShouldThrowPodcastReaderException() {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().build());
+        assertAll(
+                () -> assertThrows(PodcastReaderException.class, () -> reader.loadRSS(baseURI + "/to-ftp.xml")),
+                () -> assertThrows(PodcastReaderException.class, () -> reader.loadRSS(baseURI + "/to-bad-uri.xml")),
+                () -> assertThrows(PodcastReaderException.class, () -> reader.loadRSS("http:///feed.xml")),
+                () -> assertThrows(PodcastReaderException.class, () -> reader.loadRSSLeniently(baseURI + "/to-ftp.xml"))
+        );
+    }
+
+    @Test
+    void failedRequestsShouldReleaseTheirConnection() {
+        var reader = new PodcastReaderSaxParserImpl(new HttpFeedFetcher.Builder().setMaxConnectionsPerHost(1).build());
+        assertThrows(PodcastReaderException.class, () -> reader.loadRSS(baseURI + "/missing.xml"));
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertEquals("Raw Data", reader.loadRSS(baseURI + "/feed.xml").title()));
+    }
+
+    @Test
+    void stalledBodyShouldTimeOutAndReleaseItsConnection() {
+        var fetcher = new HttpFeedFetcher.Builder()
+                .setMaxConnectionsPerHost(1)
+                .setBodyIdleTimeout(Duration.ofMillis(200))
+                .build();
+        var reader = new PodcastReaderSaxParserImpl(fetcher);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(PodcastReaderException.class, () -> reader.loadRSS(baseURI + "/stalling.xml"));
+            assertEquals("Raw Data", reader.loadRSS(baseURI + "/feed.xml").title());
+        });
+    }
+
+    @Test
+    void defaultPortsShouldShareTheHostLimiter() {
+        assertAll(
+                () -> assertEquals(HttpFeedFetcher.hostKey(URI.create("https://Example.com/feed")),
+                        HttpFeedFetcher.hostKey(URI.create("https://example.com:443/feed"))),
+                () -> assertEquals(HttpFeedFetcher.hostKey(URI.create("http://example.com/feed")),
+                        HttpFeedFetcher.hostKey(URI.create("http://example.com:80/feed"))),
+                () -> assertNotEquals(HttpFeedFetcher.hostKey(URI.create("http://example.com/feed")),
+                        HttpFeedFetcher.hostKey(URI.create("https://example.com/feed")))
+        );
+    }
+
+    @Test
+    void rateLimitShouldSpaceRequestsToTheSameHost() throws PodcastReaderException {
+        var fetcher = new HttpFeedFetcher.Builder()
+                .setRequestsPerSecond("localhost", 10)
+                .build();
+        var reader = new PodcastReaderSaxParserImpl(fetcher);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            reader.loadRSS(baseURI + "/feed.xml");
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 200, "three requests at 10/s need at least 200ms, took " + elapsedMillis);
+    }
+}
@@ -1,5 +1,8 @@
 package ir.lazydeveloper.jpodcatcher.internal;
 
+import ir.lazydeveloper.jpodcatcher.ParseDiagnostic;
+import ir.lazydeveloper.jpodcatcher.PodcastReadResult;
+import ir.lazydeveloper.jpodcatcher.PodcastReader;
 import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
 import ir.lazydeveloper.jpodcatcher.model.Channel;
 import ir.lazydeveloper.jpodcatcher.model.Item;
@@ -7,8 +10,13 @@ import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesChannelData;
 import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -98,6 +106,18 @@ class PodcastReaderSaxParserImplTest {
         );
     }
 
+    @Test
+    void reusedReaderShouldNotLeakStateBetweenLoads() throws PodcastReaderException {
+        Channel first = podcastReaderSaxParser.loadRSS(samplePodcastURI);
+        podcastReaderSaxParser.loadRSS(podcastWithItunesURI);
+        Channel again = podcastReaderSaxParser.loadRSS(samplePodcastURI);
+        assertAll(
+                () -> assertEquals(first, again),
+                () -> assertEquals(Arrays.asList("Blockchain", "Charity ryerson"), first.items().get(0).categories()),
+                () -> assertEquals(Arrays.asList("Authoritarianism", "Computer vision"), first.items().get(1).categories())
+        );
+    }
+
     /**
      * @Nested tests give the test writer more capabilities to express the relationship among several groups of tests.
      */
@@ -143,4 +163,112 @@ class PodcastReaderSaxParserImplTest {
             );
         }
     }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class MalformedPodcastTest {
+        String brokenPodcastURI = getClass().getClassLoader().getResource("broken_podcast.xml").toString();
+        String truncatedPodcastURI = getClass().getClassLoader().getResource("truncated_podcast.xml").toString();
+
+        @Test
+        void strayAmpersandShouldFailStrictLoading() {
+            assertThrows(PodcastReaderException.class, () -> podcastReaderSaxParser.loadRSS(brokenPodcastURI));
+        }
+
+        @Test
+        void failedStrictLoadingShouldNotNotifyItemListeners() {
+            List<Item> notified = new ArrayList<>();
+            podcastReaderSaxParser.addItemListener((feedUri, item) -> notified.add(item));
+            podcastReaderSaxParser.setRetainItems(false);
+            assertThrows(PodcastReaderException.class, () -> podcastReaderSaxParser.loadRSS(brokenPodcastURI));
+            assertTrue(notified.isEmpty());
+        }
+
+        @Test
+        void lenientLoadingShouldNotifyItemListenersOfPartialItems() throws PodcastReaderException {
+            List<Item> notified = new ArrayList<>();
+            podcastReaderSaxParser.addItemListener((feedUri, item) -> notified.add(item));
+            podcastReaderSaxParser.loadRSSLeniently(brokenPodcastURI);
+            assertEquals(1, notified.size());
+        }
+
+        @Test
+        void lenientLoadingShouldKeepItemsBeforeTheError() throws PodcastReaderException {
+            PodcastReadResult result = podcastReaderSaxParser.loadRSSLeniently(brokenPodcastURI);
+            assertFalse(result.complete());
+            ParseDiagnostic diagnostic = result.diagnostics().get(0);
+            assertAll(
+                    () -> assertEquals("Raw Data", result.channel().title()),
+                    () -> assertEquals(1, result.channel().items().size()),
+                    () -> assertEquals("Technically Sweet", result.channel().items().get(0).title()),
+                    () -> assertEquals(13, diagnostic.line()),
+                    () -> assertEquals("rss/channel/item/title", diagnostic.elementPath()),
+                    () -> assertTrue(diagnostic.byteOffset() > 0)
+            );
+        }
+
+        @Test
+        void tolerantScanningShouldRepairStrayAmpersands() throws PodcastReaderException {
+            podcastReaderSaxParser.setTolerantScanning(true);
+            PodcastReadResult result = podcastReaderSaxParser.loadRSSLeniently(brokenPodcastURI);
+            assertAll(
+                    () -> assertEquals(3, result.channel().items().size()),
+                    () -> assertEquals("Salt & pepper inside CDATA is fine", result.channel().items().get(0).description()),
+                    () -> assertEquals("Training Computers & People to See", result.channel().items().get(1).title()),
+                    () -> assertEquals("Vision&nbsp;tools & more", result.channel().items().get(1).description()),
+                    () -> assertEquals(1, result.diagnostics().size())
+            );
+        }
+
+        @Test
+        void repairsShouldNotShiftDiagnosticOffsets() throws IOException, PodcastReaderException {
+            var prefix = "<rss><channel><title>Raw Data</title><item><title>A ";
+            var suffix = " B</titl></item></channel></rss>";
+            Path escaped = Files.createTempFile("escaped_podcast", ".xml");
+            Path stray = Files.createTempFile("stray_podcast", ".xml");
+            try {
+                Files.writeString(escaped, prefix + "&amp;" + suffix);
+                Files.writeString(stray, prefix + "&" + suffix);
+                ParseDiagnostic expected = podcastReaderSaxParser.loadRSSLeniently(escaped.toUri().toString()).diagnostics().get(0);
+                podcastReaderSaxParser.setTolerantScanning(true);
+                ParseDiagnostic repaired = podcastReaderSaxParser.loadRSSLeniently(stray.toUri().toString()).diagnostics().get(0);
+                assertAll(
+                        () -> assertTrue(expected.byteOffset() > prefix.length()),
+                        () -> assertEquals(expected.byteOffset() - 4, repaired.byteOffset()),
+                        () -> assertEquals(expected.column() - 4, repaired.column())
+                );
+            } finally {
+                Files.deleteIfExists(escaped);
+                Files.deleteIfExists(stray);
+            }
+        }
+
+        @Test
+        void truncatedFeedShouldKeepCompletedItems() throws PodcastReaderException {
+            PodcastReadResult result = podcastReaderSaxParser.loadRSSLeniently(truncatedPodcastURI);
+            assertAll(
+                    () -> assertEquals(1, result.channel().items().size()),
+                    () -> assertEquals(1, result.diagnostics().size()),
+                    () -> assertEquals("rss/channel/item/title", result.diagnostics().get(0).elementPath())
+            );
+        }
+
+        @Test
+        void readersWithoutLenientSupportShouldReportFailureAsDiagnostic() throws PodcastReaderException {
+            PodcastReader strictReader = uri -> podcastReaderSaxParser.loadRSS(uri);
+            PodcastReadResult result = strictReader.loadRSSLeniently(brokenPodcastURI);
+            assertAll(
+                    () -> assertFalse(result.complete()),
+                    () -> assertTrue(result.channel().items().isEmpty()),
+                    () -> assertTrue(strictReader.loadRSSLeniently(samplePodcastURI).complete())
+            );
+        }
+
+        @Test
+        void wellFormedFeedShouldBeCompleteWhenLoadedLeniently() throws PodcastReaderException {
+            PodcastReadResult result = podcastReaderSaxParser.loadRSSLeniently(samplePodcastURI);
+            assertTrue(result.complete());
+            assertEquals(podcastReaderSaxParser.loadRSS(samplePodcastURI), result.channel());
+        }
+    }
 }
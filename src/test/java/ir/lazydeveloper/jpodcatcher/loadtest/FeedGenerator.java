@@ -0,0 +1,214 @@
+package ir.lazydeveloper.jpodcatcher.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic RSS feeds of any size. The same seed and feed index always give the same bytes,
+ * so a problem found under load can be reproduced with a single feed.
+ */
+public class FeedGenerator {
+
+    public enum Malformation {
+        /**
+         * An unescaped {@code &} in one item title, or in the channel description of a feed without items
+         */
+        STRAY_AMPERSAND,
+        /**
+         * The document is cut in the middle of an item, like an interrupted download; a feed without items
+         * is cut in the middle of an extra one
+         */
+        TRUNCATED
+    }
+
+    private static final String[] WORDS = {
+            "data", "privacy", "machine", "learning", "history", "climate", "music", "startup", "science", "health",
+            "politics", "comedy", "football", "design", "crypto", "cooking", "travel", "space", "books", "economy"
+    };
+    private static final String[] TYPES = {"audio/mpeg", "audio/x-m4a", "video/mp4"};
+    private static final String[] EPISODE_TYPES = {"full", "trailer", "bonus"};
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final long FIRST_PUB_DATE = Instant.parse("2015-01-01T00:00:00Z").getEpochSecond();
+
+    private final long seed;
+    private final int itemCount;
+    private final int descriptionWords;
+    private final double itunesCoverage;
+    private final String itunesPrefix;
+    private final double malformedRate;
+    private final Malformation malformation;
+
+    private FeedGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.itemCount = builder.itemCount;
+        this.descriptionWords = builder.descriptionWords;
+        this.itunesCoverage = builder.itunesCoverage;
+        this.itunesPrefix = builder.itunesPrefix;
+        this.malformedRate = builder.malformedRate;
+        this.malformation = builder.malformation;
+    }
+
+    public byte[] generate(int feedIndex) {
+        return generateXml(feedIndex).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether {@link #generate(int)} injects a malformation into this feed.
+     */
+    public boolean isMalformed(int feedIndex) {
+        return malformedRate > 0 && new SplittableRandom(feedSeed(feedIndex) ^ 0x5DEECE66DL).nextDouble() < malformedRate;
+    }
+
+    public String generateXml(int feedIndex) {
+        var random = new SplittableRandom(feedSeed(feedIndex));
+        boolean malformed = isMalformed(feedIndex);
+        int brokenItem = malformed && itemCount > 0 ? random.nextInt(itemCount) : -1;
+        // Without items the malformation goes into the channel itself
+        boolean brokenChannel = malformed && itemCount == 0;
+        var xml = new StringBuilder(1024 + itemCount * (400 + descriptionWords * 8));
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:").append(itunesPrefix)
+                .append("=\"http://www.itunes.com/dtds/podcast-1.0.dtd\">\n")
+                .append("<channel>\n");
+        element(xml, "title", "Synthetic feed " + feedIndex);
+        element(xml, "link", "https://feeds.example.com/" + feedIndex);
+        var description = sentence(random, descriptionWords);
+        element(xml, "description", brokenChannel && malformation == Malformation.STRAY_AMPERSAND
+                ? description + " & " + description : description);
+        element(xml, "language", "en");
+        element(xml, "generator", "FeedGenerator seed " + seed);
+        itunesElement(xml, "author", "Author " + feedIndex);
+        itunesElement(xml, "type", random.nextBoolean() ? "episodic" : "serial");
+        if (brokenChannel && malformation == Malformation.TRUNCATED) {
+            return xml.append("<item>\n<title>").append(sentence(random, 3)).toString();
+        }
+
+        for (int i = 0; i < itemCount; i++) {
+            if (i == brokenItem && malformation == Malformation.TRUNCATED) {
+                xml.append("<item>\n<title>").append(sentence(random, 3));
+                return xml.toString();
+            }
+            xml.append("<item>\n");
+            element(xml, "guid", feedIndex + "-" + i);
+            var title = sentence(random, 2 + random.nextInt(6));
+            element(xml, "title", i == brokenItem ? title + " & " + title : title);
+            element(xml, "pubDate", RFC_1123.format(Instant.ofEpochSecond(FIRST_PUB_DATE + random.nextLong(300_000_000L))));
+            element(xml, "link", "https://feeds.example.com/" + feedIndex + "/episodes/" + i);
+            xml.append("<description><![CDATA[<p>").append(sentence(random, descriptionWords)).append("</p>]]></description>\n");
+            xml.append("<enclosure url=\"https://media.example.com/").append(feedIndex).append('/').append(i)
+                    .append(".mp3\" length=\"").append(1_000_000 + random.nextInt(100_000_000))
+                    .append("\" type=\"").append(TYPES[random.nextInt(TYPES.length)]).append("\"/>\n");
+            for (int c = random.nextInt(3); c > 0; c--) {
+                element(xml, "category", WORDS[random.nextInt(WORDS.length)]);
+            }
+            if (random.nextDouble() < itunesCoverage) {
+                itunesElement(xml, "title", title);
+                itunesElement(xml, "episode", String.valueOf(i + 1));
+                itunesElement(xml, "season", String.valueOf(1 + random.nextInt(5)));
+                itunesElement(xml, "episodeType", EPISODE_TYPES[random.nextInt(EPISODE_TYPES.length)]);
+                itunesElement(xml, "duration", String.valueOf(60 + random.nextInt(7200)));
+                itunesElement(xml, "explicit", random.nextBoolean() ? "true" : "false");
+            }
+            xml.append("</item>\n");
+        }
+        return xml.append("</channel>\n</rss>\n").toString();
+    }
+
+    private long feedSeed(int feedIndex) {
+        return seed * 0x9E3779B97F4A7C15L + feedIndex;
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        var sentence = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static void element(StringBuilder xml, String name, String value) {
+        xml.append('<').append(name).append('>').append(value).append("</").append(name).append(">\n");
+    }
+
+    private void itunesElement(StringBuilder xml, String name, String value) {
+        element(xml, itunesPrefix + ':' + name, value);
+    }
+
+    public static class Builder {
+        private long seed = 42;
+        private int itemCount = 100;
+        private int descriptionWords = 50;
+        private double itunesCoverage = 1.0;
+        private String itunesPrefix = "itunes";
+        private double malformedRate;
+        private Malformation malformation = Malformation.STRAY_AMPERSAND;
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setItemCount(int itemCount) {
+            if (itemCount < 0) {
+                throw new IllegalArgumentException("itemCount must not be negative");
+            }
+            this.itemCount = itemCount;
+            return this;
+        }
+
+        public Builder setDescriptionWords(int descriptionWords) {
+            if (descriptionWords < 0) {
+                throw new IllegalArgumentException("descriptionWords must not be negative");
+            }
+            this.descriptionWords = descriptionWords;
+            return this;
+        }
+
+        /**
+         * Share of items with itunes elements, between 0 and 1.
+         */
+        public Builder setItunesCoverage(double itunesCoverage) {
+            if (!(itunesCoverage >= 0 && itunesCoverage <= 1)) {
+                throw new IllegalArgumentException("itunesCoverage must be between 0 and 1");
+            }
+            this.itunesCoverage = itunesCoverage;
+            return this;
+        }
+
+        /**
+         * Feeds may bind the itunes namespace to any prefix.
+         */
+        public Builder setItunesPrefix(String itunesPrefix) {
+            if (itunesPrefix == null || !itunesPrefix.matches("[A-Za-z_][A-Za-z0-9._-]*")) {
+                throw new IllegalArgumentException("Not a valid namespace prefix: " + itunesPrefix);
+            }
+            this.itunesPrefix = itunesPrefix;
+            return this;
+        }
+
+        /**
+         * Share of feeds with the given malformation, between 0 and 1.
+         */
+        public Builder setMalformed(double malformedRate, Malformation malformation) {
+            if (!(malformedRate >= 0 && malformedRate <= 1)) {
+                throw new IllegalArgumentException("malformedRate must be between 0 and 1");
+            }
+            if (malformation == null) {
+                throw new IllegalArgumentException("malformation must not be null");
+            }
+            this.malformedRate = malformedRate;
+            this.malformation = malformation;
+            return this;
+        }
+
+        public FeedGenerator build() {
+            return new FeedGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ir.lazydeveloper.jpodcatcher.loadtest;
+
+import ir.lazydeveloper.jpodcatcher.PodcastReadResult;
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.internal.PodcastReaderSaxParserImpl;
+import ir.lazydeveloper.jpodcatcher.model.Channel;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Synthetic feeds and the load test harness")
+@DisplayNameGeneration(DisplayNameGenerator.Simple.class)
+class FeedGeneratorTest {
+
+    private Path feedFile;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        feedFile = Files.createTempFile("generated_podcast", ".xml");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(feedFile);
+    }
+
+    @Test
+    void sameSeedShouldGenerateSameFeed() {
+        var generator = new FeedGenerator.Builder().setSeed(7).build();
+        assertAll(
+                () -> assertEquals(generator.generateXml(3), new FeedGenerator.Builder().setSeed(7).build().generateXml(3)),
+                () -> assertNotEquals(generator.generateXml(3), generator.generateXml(4)),
+                () -> assertNotEquals(generator.generateXml(3), new FeedGenerator.Builder().setSeed(8).build().generateXml(3))
+        );
+    }
+
+    @Test
+    void generatedFeedShouldBeReadable() throws IOException, PodcastReaderException {
+        var generator = new FeedGenerator.Builder().setItemCount(250).setDescriptionWords(200).build();
+        Channel channel = load(generator.generate(0));
+        assertAll(
+                () -> assertEquals("Synthetic feed 0", channel.title()),
+                () -> assertEquals(250, channel.items().size()),
+                () -> assertNotNull(channel.items().get(0).itunesItemData().duration())
+        );
+    }
+
+    @Test
+    void itunesDataShouldBeReadUnderAnyBoundPrefix() throws IOException, PodcastReaderException {
+        var generator = new FeedGenerator.Builder().setItemCount(5).setItunesPrefix("itms").build();
+        assertTrue(generator.generateXml(0).contains("<itms:duration>"));
+        Channel channel = load(generator.generate(0));
+        assertAll(
+                () -> assertEquals("Author 0", channel.itunesChannelData().author()),
+                () -> assertNotNull(channel.items().get(0).itunesItemData().duration()),
+                () -> assertEquals("1", channel.items().get(0).itunesItemData().episode())
+        );
+    }
+
+    @Test
+    void malformedFeedShouldOnlyBeReadableLeniently() throws IOException, PodcastReaderException {
+        var generator = new FeedGenerator.Builder()
+                .setItemCount(50)
+                .setMalformed(1.0, FeedGenerator.Malformation.TRUNCATED)
+                .build();
+        assertTrue(generator.isMalformed(0));
+        Files.write(feedFile, generator.generate(0));
+        var reader = new PodcastReaderSaxParserImpl();
+        assertThrows(PodcastReaderException.class, () -> reader.loadRSS(feedFile.toUri().toString()));
+        PodcastReadResult result = reader.loadRSSLeniently(feedFile.toUri().toString());
+        assertFalse(result.complete());
+        assertTrue(result.channel().items().size() < 50);
+    }
+
+    @Test
+    void feedWithoutItemsShouldStillBeMalformedWhenReported() throws IOException, PodcastReaderException {
+        var reader = new PodcastReaderSaxParserImpl();
+        for (FeedGenerator.Malformation malformation : FeedGenerator.Malformation.values()) {
+            var generator = new FeedGenerator.Builder().setItemCount(0).setMalformed(1.0, malformation).build();
+            assertTrue(generator.isMalformed(0));
+            Files.write(feedFile, generator.generate(0));
+            assertFalse(reader.loadRSSLeniently(feedFile.toUri().toString()).complete(), malformation.name());
+        }
+    }
+
+    @Test
+    void invalidArgumentsShouldBeRejected() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new LoadTestHarness.Builder().setFeedCount(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new LoadTestHarness.Builder().setConcurrency(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new FeedGenerator.Builder().setItemCount(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new FeedGenerator.Builder().setItunesPrefix("1x"))
+        );
+    }
+
+    @Test
+    void harnessShouldReportLatencies() throws IOException, InterruptedException {
+        var report = new LoadTestHarness.Builder()
+                .setGenerator(new FeedGenerator.Builder().setItemCount(20).build())
+                .setFeedCount(5)
+                .setConcurrency(2)
+                .setRequests(20)
+                .build()
+                .run();
+        assertAll(
+                () -> assertEquals(20, report.requests()),
+                () -> assertEquals(0, report.failures()),
+                () -> assertTrue(report.p50Micros() > 0),
+                () -> assertTrue(report.p99Micros() >= report.p50Micros()),
+                () -> assertTrue(report.requestsPerSecond() > 0)
+        );
+    }
+
+    private Channel load(byte[] feed) throws IOException, PodcastReaderException {
+        Files.write(feedFile, feed);
+        return new PodcastReaderSaxParserImpl().loadRSS(feedFile.toUri().toString());
+    }
+}
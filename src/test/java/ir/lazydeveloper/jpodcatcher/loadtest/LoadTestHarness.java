@@ -0,0 +1,253 @@
+package ir.lazydeveloper.jpodcatcher.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.internal.HttpFeedFetcher;
+import ir.lazydeveloper.jpodcatcher.internal.PodcastReaderSaxParserImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves generated feeds from a local HTTP server and loads them with a number of concurrent readers.
+ * <p>
+ * Run it from the IDE or with {@code java ... LoadTestHarness --feeds=200 --items=2000 --concurrency=16
+ * --requests=5000 --seed=7 --malformed=0.05 --lenient=true}.
+ */
+public class LoadTestHarness {
+
+    public record Report(int requests, int failures, int incomplete, long p50Micros, long p99Micros,
+                         double requestsPerSecond, long heapUsedBytes, long peakHeapBytes) {
+        @Override
+        public String toString() {
+            return String.format("requests=%d failures=%d incomplete=%d p50=%.2fms p99=%.2fms throughput=%.1f/s "
+                            + "heapUsed=%dMB peakHeap=%dMB",
+                    requests, failures, incomplete, p50Micros / 1000.0, p99Micros / 1000.0, requestsPerSecond,
+                    heapUsedBytes >> 20, peakHeapBytes >> 20);
+        }
+    }
+
+    private final FeedGenerator generator;
+    private final int feedCount;
+    private final int concurrency;
+    private final int requests;
+    private final boolean lenient;
+
+    private LoadTestHarness(Builder builder) {
+        this.generator = builder.generator;
+        this.feedCount = builder.feedCount;
+        this.concurrency = builder.concurrency;
+        this.requests = builder.requests;
+        this.lenient = builder.lenient;
+    }
+
+    public Report run() throws IOException, InterruptedException {
+        byte[][] feeds = new byte[feedCount][];
+        for (int i = 0; i < feedCount; i++) {
+            feeds[i] = generator.generate(i);
+        }
+
+        ExecutorService serverExecutor = Executors.newFixedThreadPool(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/feeds/", exchange -> serveFeed(exchange, feeds));
+        server.setExecutor(serverExecutor);
+        server.start();
+        try {
+            var baseURI = "http://localhost:" + server.getAddress().getPort() + "/feeds/";
+            var fetcher = new HttpFeedFetcher.Builder().setMaxConnectionsPerHost(concurrency).build();
+            long[] latencies = new long[requests];
+            var next = new AtomicInteger();
+            var failures = new AtomicInteger();
+            var incomplete = new AtomicInteger();
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < concurrency; t++) {
+                tasks.add(() -> {
+                    // Readers are not thread safe, each worker gets its own
+                    var reader = new PodcastReaderSaxParserImpl(fetcher);
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        var uri = baseURI + (i % feedCount) + ".xml";
+                        long start = System.nanoTime();
+                        try {
+                            if (lenient) {
+                                if (!reader.loadRSSLeniently(uri).complete()) {
+                                    incomplete.incrementAndGet();
+                                }
+                            } else {
+                                reader.loadRSS(uri);
+                            }
+                        } catch (PodcastReaderException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                });
+            }
+
+            resetPeakHeapUsage();
+            long start = System.nanoTime();
+            for (Future<Void> task : workers.invokeAll(tasks)) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load test worker failed", e.getCause());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            var memory = ManagementFactory.getMemoryMXBean();
+            return new Report(requests, failures.get(), incomplete.get(),
+                    percentileMicros(latencies, 0.50), percentileMicros(latencies, 0.99),
+                    requests / (elapsed / 1e9), memory.getHeapMemoryUsage().getUsed(), peakHeapUsage());
+        } finally {
+            server.stop(0);
+            workers.shutdownNow();
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private static void serveFeed(HttpExchange exchange, byte[][] feeds) throws IOException {
+        try (exchange) {
+            var name = exchange.getRequestURI().getPath().substring("/feeds/".length());
+            int index;
+            try {
+                index = Integer.parseInt(name.replace(".xml", ""));
+            } catch (NumberFormatException e) {
+                index = -1;
+            }
+            if (index < 0 || index >= feeds.length) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/rss+xml");
+            exchange.sendResponseHeaders(200, feeds[index].length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(feeds[index]);
+            }
+        }
+    }
+
+    private static long percentileMicros(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sortedNanos[Math.max(index, 0)]);
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        var generator = new FeedGenerator.Builder()
+                .setSeed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .setItemCount(Integer.parseInt(options.getOrDefault("items", "500")))
+                .setDescriptionWords(Integer.parseInt(options.getOrDefault("descriptionWords", "50")))
+                .setItunesCoverage(Double.parseDouble(options.getOrDefault("itunesCoverage", "1.0")))
+                .setItunesPrefix(options.getOrDefault("itunesPrefix", "itunes"))
+                .setMalformed(Double.parseDouble(options.getOrDefault("malformed", "0")),
+                        FeedGenerator.Malformation.valueOf(options.getOrDefault("malformation", "STRAY_AMPERSAND")))
+                .build();
+        var harness = new Builder()
+                .setGenerator(generator)
+                .setFeedCount(Integer.parseInt(options.getOrDefault("feeds", "100")))
+                .setConcurrency(Integer.parseInt(options.getOrDefault("concurrency", "8")))
+                .setRequests(Integer.parseInt(options.getOrDefault("requests", "1000")))
+                .setLenient(Boolean.parseBoolean(options.getOrDefault("lenient", "false")))
+                .build();
+        System.out.println(harness.run());
+    }
+
+    public static class Builder {
+        private FeedGenerator generator = new FeedGenerator.Builder().build();
+        private int feedCount = 100;
+        private int concurrency = 8;
+        private int requests = 1000;
+        private boolean lenient;
+
+        public Builder setGenerator(FeedGenerator generator) {
+            if (generator == null) {
+                throw new IllegalArgumentException("generator must not be null");
+            }
+            this.generator = generator;
+            return this;
+        }
+
+        public Builder setFeedCount(int feedCount) {
+            if (feedCount < 1) {
+                throw new IllegalArgumentException("feedCount must be positive");
+            }
+            this.feedCount = feedCount;
+            return this;
+        }
+
+        public Builder setConcurrency(int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be positive");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public Builder setRequests(int requests) {
+            if (requests < 0) {
+                throw new IllegalArgumentException("requests must not be negative");
+            }
+            this.requests = requests;
+            return this;
+        }
+
+        public Builder setLenient(boolean lenient) {
+            this.lenient = lenient;
+            return this;
+        }
+
+        public LoadTestHarness build() {
+            return new LoadTestHarness(this);
+        }
+    }
+}
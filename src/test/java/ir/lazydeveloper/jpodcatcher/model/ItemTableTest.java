@@ -0,0 +1,111 @@
+package ir.lazydeveloper.jpodcatcher.model;
+
+import ir.lazydeveloper.jpodcatcher.PodcastReaderException;
+import ir.lazydeveloper.jpodcatcher.internal.PodcastReaderSaxParserImpl;
+import ir.lazydeveloper.jpodcatcher.model.itunes.ItunesItemData;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Columnar item storage")
+@DisplayNameGeneration(DisplayNameGenerator.Simple.class)
+class ItemTableTest {
+
+    private final List<String> podcastURIs = List.of(
+            getClass().getClassLoader().getResource("simple_podcast.xml").toString(),
+            getClass().getClassLoader().getResource("podcast_with_itunes.rss").toString());
+
+    @Test
+    void parserShouldFillTableWithoutRetainingItems() throws PodcastReaderException {
+        var table = new ItemTable(1);
+        var reader = new PodcastReaderSaxParserImpl();
+        reader.addItemListener(table);
+        reader.setRetainItems(false);
+        for (String uri : podcastURIs) {
+            assertTrue(reader.loadRSS(uri).items().isEmpty());
+        }
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void materializedItemsShouldEqualParsedItems() throws PodcastReaderException {
+        var table = new ItemTable(1);
+        var reader = new PodcastReaderSaxParserImpl();
+        List<Item> parsed = new ArrayList<>();
+        for (String uri : podcastURIs) {
+            Channel channel = reader.loadRSS(uri);
+            parsed.addAll(channel.items());
+            table.append(channel);
+        }
+        table.trimToSize();
+        assertEquals(parsed, table.toItems());
+    }
+
+    @Test
+    void rowShouldExposePrimitiveColumns() throws PodcastReaderException {
+        var table = new ItemTable();
+        table.append(new PodcastReaderSaxParserImpl().loadRSS(podcastURIs.get(0)));
+        ItemTable.Row row = table.row().moveTo(0);
+        assertAll(
+                () -> assertEquals("Technically Sweet", row.title()),
+                () -> assertEquals(39374396L, row.enclosureLength()),
+                () -> assertEquals("audio/mpeg", row.enclosureType()),
+                () -> assertEquals(2, row.categoryCount()),
+                () -> assertEquals("Charity ryerson", row.category(1)),
+                () -> assertEquals(1574326800000L, row.pubDateMillis())
+        );
+    }
+
+    @Test
+    void rowShouldExposeEveryItunesColumnWithoutMaterializing() throws PodcastReaderException {
+        var table = new ItemTable();
+        table.append(new PodcastReaderSaxParserImpl().loadRSS(podcastURIs.get(1)));
+        ItemTable.Row row = table.row().moveTo(0);
+        var itunes = table.get(0).itunesItemData();
+        assertAll(
+                () -> assertTrue(row.hasEnclosure()),
+                () -> assertTrue(row.hasItunes()),
+                () -> assertEquals(itunes.image(), row.itunesImage()),
+                () -> assertEquals(itunes.duration(), row.durationText()),
+                () -> assertEquals("4", row.episode()),
+                () -> assertEquals("1", row.season()),
+                () -> assertEquals("trailer", row.episodeType()),
+                () -> assertEquals(itunes.explicit(), row.explicit()),
+                () -> assertEquals(itunes.block(), row.block())
+        );
+    }
+
+    @Test
+    void rowShouldTellMissingEnclosureFromMissingUrl() {
+        var table = new ItemTable();
+        table.append(new Item.Builder().build());
+        var withoutUrl = new Item.Builder();
+        withoutUrl.setEnclosure(new Enclosure.Builder().setLength(10L).build());
+        table.append(withoutUrl.build());
+        ItemTable.Row row = table.row();
+        assertAll(
+                () -> assertFalse(row.moveTo(0).hasEnclosure()),
+                () -> assertFalse(row.moveTo(0).hasItunes()),
+                () -> assertTrue(row.moveTo(1).hasEnclosure()),
+                () -> assertNull(row.moveTo(1).enclosureUrl())
+        );
+    }
+
+    @Test
+    void durationsShouldBeConvertedToSeconds() {
+        assertAll(
+                () -> assertEquals(1079, ItunesItemData.parseDuration("1079")),
+                () -> assertEquals(1079, ItunesItemData.parseDuration("17:59")),
+                () -> assertEquals(3600 + 1079, ItunesItemData.parseDuration("01:17:59")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration("1h")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration(":")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration("1:2:3:4")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration("1:0:0:0:0:0:0:0:0:0:0:0")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration("999999999:00:00")),
+                () -> assertEquals(ItunesItemData.NO_DURATION, ItunesItemData.parseDuration(null))
+        );
+    }
+}